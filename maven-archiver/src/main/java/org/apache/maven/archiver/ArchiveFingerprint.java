@@ -0,0 +1,217 @@
+package org.apache.maven.archiver;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.shared.utils.io.IOUtil;
+import org.codehaus.plexus.archiver.ArchiveEntry;
+import org.codehaus.plexus.archiver.jar.Manifest;
+import org.codehaus.plexus.components.io.resources.PlexusIoResource;
+
+/**
+ * Fingerprint of all inputs of an archive: the sorted entry paths with their sizes and modification times, the
+ * manifest content and the archive configuration. The fingerprint is stored next to the archive, so that an
+ * unchanged archive does not need to be repackaged by the next build.
+ *
+ * @version $Id$
+ */
+class ArchiveFingerprint
+{
+    private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+    private static final String KEY_FINGERPRINT = "fingerprint";
+
+    private static final String KEY_ARCHIVE_LENGTH = "archive.length";
+
+    private static final String KEY_ARCHIVE_LAST_MODIFIED = "archive.lastModified";
+
+    private final String value;
+
+    private ArchiveFingerprint( String value )
+    {
+        this.value = value;
+    }
+
+    /**
+     * Computes the fingerprint of a fully configured archiver.
+     *
+     * @param archiveEntries The entries of the archive, as collected from the archiver.
+     * @param manifest The manifest which is added to the archive.
+     * @param archiveConfiguration The archive configuration.
+     * @return The fingerprint.
+     * @throws IOException In case of a failure reading the inputs.
+     */
+    static ArchiveFingerprint compute( List<ArchiveEntry> archiveEntries, Manifest manifest,
+                                       MavenArchiveConfiguration archiveConfiguration )
+        throws IOException
+    {
+        List<String> entries = new ArrayList<String>( archiveEntries.size() );
+        for ( ArchiveEntry entry : archiveEntries )
+        {
+            PlexusIoResource resource = entry.getResource();
+            entries.add( entry.getName() + '|' + resource.getSize() + '|' + resource.getLastModified() + '|'
+                + entry.getMode() );
+        }
+        Collections.sort( entries );
+
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-1 is not supported", e );
+        }
+
+        for ( String entry : entries )
+        {
+            update( digest, entry );
+        }
+
+        ByteArrayOutputStream manifestContent = new ByteArrayOutputStream();
+        manifest.write( manifestContent );
+        digest.update( manifestContent.toByteArray() );
+
+        File manifestFile = archiveConfiguration.getManifestFile();
+        if ( manifestFile != null )
+        {
+            update( digest, manifestFile.getAbsolutePath() + '|' + manifestFile.length() + '|'
+                + manifestFile.lastModified() );
+        }
+
+        update( digest, "compress=" + archiveConfiguration.isCompress() );
+        update( digest, "recompressAddedZips=" + archiveConfiguration.isRecompressAddedZips() );
+        update( digest, "index=" + archiveConfiguration.isIndex() );
+
+        return new ArchiveFingerprint( toHex( digest.digest() ) );
+    }
+
+    /**
+     * @param archiveFile The archive.
+     * @return <code>true</code> if the archive exists, was not modified since it has been created and its stored
+     *         fingerprint equals this one.
+     */
+    boolean matches( File archiveFile )
+    {
+        File fingerprintFile = getFingerprintFile( archiveFile );
+        if ( !archiveFile.isFile() || !fingerprintFile.isFile() )
+        {
+            return false;
+        }
+
+        Properties stored = new Properties();
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( fingerprintFile );
+            stored.load( in );
+            in.close();
+            in = null;
+        }
+        catch ( IOException e )
+        {
+            // an unreadable fingerprint is a mismatch, the archive will simply be recreated
+            return false;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        return value.equals( stored.getProperty( KEY_FINGERPRINT ) )
+            && String.valueOf( archiveFile.length() ).equals( stored.getProperty( KEY_ARCHIVE_LENGTH ) )
+            && String.valueOf( archiveFile.lastModified() ).equals( stored.getProperty( KEY_ARCHIVE_LAST_MODIFIED ) );
+    }
+
+    /**
+     * Stores this fingerprint next to the freshly created archive.
+     *
+     * @param archiveFile The archive.
+     * @throws IOException In case of a failure writing the fingerprint.
+     */
+    void store( File archiveFile )
+        throws IOException
+    {
+        Properties properties = new Properties();
+        properties.setProperty( KEY_FINGERPRINT, value );
+        properties.setProperty( KEY_ARCHIVE_LENGTH, String.valueOf( archiveFile.length() ) );
+        properties.setProperty( KEY_ARCHIVE_LAST_MODIFIED, String.valueOf( archiveFile.lastModified() ) );
+
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( getFingerprintFile( archiveFile ) );
+            properties.store( out, null );
+            out.close();
+            out = null;
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    /**
+     * @param archiveFile The archive.
+     * @return The file holding the fingerprint of the given archive.
+     */
+    static File getFingerprintFile( File archiveFile )
+    {
+        return new File( archiveFile.getParentFile(), archiveFile.getName() + FINGERPRINT_SUFFIX );
+    }
+
+    private static void update( MessageDigest digest, String value )
+    {
+        digest.update( value.getBytes( StandardCharsets.UTF_8 ) );
+        digest.update( (byte) '\n' );
+    }
+
+    private static String toHex( byte[] bytes )
+    {
+        StringBuilder sb = new StringBuilder( bytes.length * 2 );
+        for ( byte b : bytes )
+        {
+            sb.append( Character.forDigit( ( b >> 4 ) & 0x0F, 16 ) );
+            sb.append( Character.forDigit( b & 0x0F, 16 ) );
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return value;
+    }
+}
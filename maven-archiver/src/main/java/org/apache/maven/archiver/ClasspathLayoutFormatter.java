@@ -0,0 +1,202 @@
+package org.apache.maven.archiver;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.shared.utils.StringUtils;
+
+/**
+ * A classpath layout expression compiled into a sequence of literal and artifact property segments, so that
+ * formatting a Class-Path entry does not need a full interpolation run per artifact.
+ * <p>
+ * Only the expressions used by the predefined layouts of {@link MavenArchiver} are supported. For any other
+ * expression {@link #compile(String)} returns <code>null</code> and the caller is expected to fall back to
+ * regular interpolation. Unresolvable values are kept verbatim, just like the interpolator does.
+ *
+ * @version $Id$
+ */
+final class ClasspathLayoutFormatter
+{
+    private static final String ARTIFACT_PREFIX = "artifact.";
+
+    private static final int LITERAL = 0;
+
+    private static final int GROUP_ID = 1;
+
+    private static final int GROUP_ID_PATH = 2;
+
+    private static final int ARTIFACT_ID = 3;
+
+    private static final int VERSION = 4;
+
+    private static final int BASE_VERSION = 5;
+
+    private static final int DASH_CLASSIFIER = 6;
+
+    private static final int EXTENSION = 7;
+
+    private final int[] types;
+
+    private final String[] texts;
+
+    private ClasspathLayoutFormatter( int[] types, String[] texts )
+    {
+        this.types = types;
+        this.texts = texts;
+    }
+
+    /**
+     * @param layout The layout expression.
+     * @return The compiled formatter, or <code>null</code> if the layout uses expressions which are not supported.
+     */
+    static ClasspathLayoutFormatter compile( String layout )
+    {
+        List<Integer> types = new ArrayList<Integer>();
+        List<String> texts = new ArrayList<String>();
+
+        int pos = 0;
+        while ( pos < layout.length() )
+        {
+            int start = layout.indexOf( "${", pos );
+            int end = start < 0 ? -1 : layout.indexOf( '}', start + 2 );
+            if ( end < 0 )
+            {
+                types.add( LITERAL );
+                texts.add( layout.substring( pos ) );
+                break;
+            }
+
+            if ( start > pos )
+            {
+                types.add( LITERAL );
+                texts.add( layout.substring( pos, start ) );
+            }
+
+            String expression = layout.substring( start, end + 1 );
+            int type = typeOf( expression.substring( 2, expression.length() - 1 ) );
+            if ( type == LITERAL )
+            {
+                return null;
+            }
+            types.add( type );
+            texts.add( expression );
+
+            pos = end + 1;
+        }
+
+        int[] typeArray = new int[types.size()];
+        for ( int i = 0; i < typeArray.length; i++ )
+        {
+            typeArray[i] = types.get( i );
+        }
+        return new ClasspathLayoutFormatter( typeArray, texts.toArray( new String[texts.size()] ) );
+    }
+
+    private static int typeOf( String expression )
+    {
+        String name =
+            expression.startsWith( ARTIFACT_PREFIX ) ? expression.substring( ARTIFACT_PREFIX.length() ) : expression;
+
+        if ( "groupId".equals( name ) )
+        {
+            return GROUP_ID;
+        }
+        else if ( "groupIdPath".equals( name ) )
+        {
+            return GROUP_ID_PATH;
+        }
+        else if ( "artifactId".equals( name ) )
+        {
+            return ARTIFACT_ID;
+        }
+        else if ( "version".equals( name ) )
+        {
+            return VERSION;
+        }
+        else if ( "baseVersion".equals( name ) )
+        {
+            return BASE_VERSION;
+        }
+        else if ( "dashClassifier".equals( name ) || "dashClassifier?".equals( name ) )
+        {
+            return DASH_CLASSIFIER;
+        }
+        else if ( "extension".equals( name ) )
+        {
+            return EXTENSION;
+        }
+        return LITERAL;
+    }
+
+    /**
+     * Appends the formatted path of the given artifact.
+     *
+     * @param artifact The artifact, must not be <code>null</code>.
+     * @param buffer The buffer to append to.
+     */
+    void format( Artifact artifact, StringBuilder buffer )
+    {
+        // FIXME: This query method SHOULD NOT affect the internal
+        // state of the artifact version, but it does. Query it first, like the interpolation based code path.
+        boolean snapshot = artifact.isSnapshot();
+
+        for ( int i = 0; i < types.length; i++ )
+        {
+            String value;
+            switch ( types[i] )
+            {
+                case GROUP_ID:
+                    value = artifact.getGroupId();
+                    break;
+                case GROUP_ID_PATH:
+                    value = artifact.getGroupId().replace( '.', '/' );
+                    break;
+                case ARTIFACT_ID:
+                    value = artifact.getArtifactId();
+                    break;
+                case VERSION:
+                    value = artifact.getVersion();
+                    break;
+                case BASE_VERSION:
+                    value = artifact.getBaseVersion();
+                    if ( value == null && !snapshot )
+                    {
+                        value = artifact.getVersion();
+                    }
+                    break;
+                case DASH_CLASSIFIER:
+                    value = StringUtils.isNotEmpty( artifact.getClassifier() ) ? "-" + artifact.getClassifier() : "";
+                    break;
+                case EXTENSION:
+                    ArtifactHandler artifactHandler = artifact.getArtifactHandler();
+                    value = artifactHandler != null ? artifactHandler.getExtension() : null;
+                    break;
+                default:
+                    value = null;
+                    break;
+            }
+            buffer.append( value != null ? value : texts[i] );
+        }
+    }
+}
@@ -62,6 +62,18 @@ public class MavenArchiveConfiguration
     private File pomPropertiesFile;
 
     /**
+     * @since 3.2.1
+     */
+    private boolean skipIfUnchanged;
+
+    /**
+     * Returns, whether the archive entries are compressed (default). The underlying plexus-archiver 3.5 scatters the
+     * file entries over one thread per available processor and gathers the per-thread results into the final archive,
+     * so the order of the file entries depends on thread scheduling and may differ between two builds. Directories,
+     * <code>META-INF/</code> and the manifest are always written first. Setting this option or
+     * {@link #isRecompressAddedZips() recompressAddedZips} to <code>false</code> does not change the entry order, since
+     * stored entries take the same parallel path.
+     *
      * @return {@link #compress}
      */
     public boolean isCompress()
@@ -306,4 +318,39 @@ public class MavenArchiveConfiguration
     {
         this.pomPropertiesFile = pomPropertiesFile;
     }
+
+    /**
+     * <p>
+     * Returns, whether the creation of the archive is skipped if none of its inputs changed since it has been created
+     * the last time. The inputs are the paths, sizes and modification times of all entries, the manifest and the
+     * archive configuration; their fingerprint is stored in a file next to the archive. Unlike {@link #isForced()},
+     * removed files are detected, because the set of entries is part of the fingerprint.
+     * </p>
+     * <p>
+     * This option takes precedence over {@link #isForced()}: an unchanged archive is not recreated, even though
+     * <code>forced</code> is <code>true</code> by default.
+     * </p>
+     *
+     * @return True, if an unchanged archive should not be recreated; false otherwise (default)
+     * @see #setSkipIfUnchanged(boolean)
+     * @since 3.2.1
+     */
+    public boolean isSkipIfUnchanged()
+    {
+        return skipIfUnchanged;
+    }
+
+    /**
+     * Sets, whether the creation of the archive is skipped if none of its inputs changed since it has been created the
+     * last time. If enabled, an unchanged archive is not recreated, even if {@link #isForced()} is <code>true</code>
+     * (default).
+     *
+     * @param skipIfUnchanged True, if an unchanged archive should not be recreated; false otherwise
+     * @see #isSkipIfUnchanged()
+     * @since 3.2.1
+     */
+    public void setSkipIfUnchanged( boolean skipIfUnchanged )
+    {
+        this.skipIfUnchanged = skipIfUnchanged;
+    }
 }
@@ -25,6 +25,8 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.OverConstrainedVersionException;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.archiver.ArchiveEntry;
+import org.codehaus.plexus.archiver.ResourceIterator;
 import org.codehaus.plexus.archiver.jar.JarArchiver;
 import org.codehaus.plexus.archiver.jar.Manifest;
 import org.codehaus.plexus.archiver.jar.ManifestException;
@@ -42,6 +44,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -248,16 +251,20 @@ public class MavenArchiver
             List<String> artifacts = project.getRuntimeClasspathElements();
             String classpathPrefix = config.getClasspathPrefix();
             String layoutType = config.getClasspathLayoutType();
-            String layout = config.getCustomClasspathLayout();
 
-            Interpolator interpolator = new StringSearchInterpolator();
+            // index the project artifacts once instead of searching them for every classpath element
+            Map<File, Artifact> artifactsByFile = indexArtifactsByFile( project.getArtifacts() );
+
+            String layout = null;
+            ClasspathLayoutFormatter formatter = null;
+            Interpolator interpolator = null;
 
             for ( String artifactFile : artifacts )
             {
                 File f = new File( artifactFile );
                 if ( f.getAbsoluteFile().isFile() )
                 {
-                    Artifact artifact = findArtifactWithFile( project.getArtifacts(), f );
+                    Artifact artifact = artifactsByFile.get( f );
 
                     if ( classpath.length() > 0 )
                     {
@@ -273,79 +280,23 @@ public class MavenArchiver
                     }
                     else
                     {
-                        List<ValueSource> valueSources = new ArrayList<ValueSource>();
-
-                        handleExtraExpression( artifact, valueSources );
-
-                        for ( ValueSource vs : valueSources )
+                        if ( layout == null )
                         {
-                            interpolator.addValueSource( vs );
-                        }
-
-                        RecursionInterceptor recursionInterceptor =
-                            new PrefixAwareRecursionInterceptor( ARTIFACT_EXPRESSION_PREFIXES );
-
-                        try
-                        {
-                            if ( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_SIMPLE.equals( layoutType ) )
-                            {
-                                if ( config.isUseUniqueVersions() )
-                                {
-                                    classpath.append( interpolator.interpolate( SIMPLE_LAYOUT, recursionInterceptor ) );
-                                }
-                                else
-                                {
-                                    classpath.append( interpolator.interpolate( SIMPLE_LAYOUT_NONUNIQUE,
-                                                                                recursionInterceptor ) );
-                                }
-                            }
-                            else if ( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_REPOSITORY.equals( layoutType ) )
-                            {
-                                // we use layout /$groupId[0]/../${groupId[n]/$artifactId/$version/{fileName}
-                                // here we must find the Artifact in the project Artifacts to create the maven layout
-                                if ( config.isUseUniqueVersions() )
-                                {
-                                    classpath.append( interpolator.interpolate( REPOSITORY_LAYOUT,
-                                                                                recursionInterceptor ) );
-                                }
-                                else
-                                {
-                                    classpath.append( interpolator.interpolate( REPOSITORY_LAYOUT_NONUNIQUE,
-                                                                                recursionInterceptor ) );
-                                }
-                            }
-                            else if ( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_CUSTOM.equals( layoutType ) )
-                            {
-                                if ( layout == null )
-                                {
-                                    throw new ManifestException( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_CUSTOM
-                                        + " layout type was declared, but custom layout expression was not"
-                                        + " specified. Check your <archive><manifest><customLayout/> element." );
-                                }
-
-                                classpath.append( interpolator.interpolate( layout, recursionInterceptor ) );
-                            }
-                            else
+                            layout = getClasspathLayout( config );
+                            formatter = ClasspathLayoutFormatter.compile( layout );
+                            if ( formatter == null )
                             {
-                                throw new ManifestException( "Unknown classpath layout type: '" + layoutType
-                                    + "'. Check your <archive><manifest><layoutType/> element." );
+                                interpolator = new StringSearchInterpolator();
                             }
                         }
-                        catch ( InterpolationException e )
-                        {
-                            ManifestException error =
-                                new ManifestException( "Error interpolating artifact path for classpath entry: "
-                                    + e.getMessage() );
 
-                            error.initCause( e );
-                            throw error;
+                        if ( formatter != null )
+                        {
+                            formatter.format( artifact, classpath );
                         }
-                        finally
+                        else
                         {
-                            for ( ValueSource vs : valueSources )
-                            {
-                                interpolator.removeValuesSource( vs );
-                            }
+                            classpath.append( interpolateClasspathLayout( interpolator, artifact, layout ) );
                         }
                     }
                 }
@@ -383,6 +334,75 @@ public class MavenArchiver
         return m;
     }
 
+    private String getClasspathLayout( ManifestConfiguration config )
+        throws ManifestException
+    {
+        String layoutType = config.getClasspathLayoutType();
+
+        if ( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_SIMPLE.equals( layoutType ) )
+        {
+            return config.isUseUniqueVersions() ? SIMPLE_LAYOUT : SIMPLE_LAYOUT_NONUNIQUE;
+        }
+        else if ( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_REPOSITORY.equals( layoutType ) )
+        {
+            // we use layout /$groupId[0]/../${groupId[n]/$artifactId/$version/{fileName}
+            // here we must find the Artifact in the project Artifacts to create the maven layout
+            return config.isUseUniqueVersions() ? REPOSITORY_LAYOUT : REPOSITORY_LAYOUT_NONUNIQUE;
+        }
+        else if ( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_CUSTOM.equals( layoutType ) )
+        {
+            String layout = config.getCustomClasspathLayout();
+            if ( layout == null )
+            {
+                throw new ManifestException( ManifestConfiguration.CLASSPATH_LAYOUT_TYPE_CUSTOM
+                    + " layout type was declared, but custom layout expression was not"
+                    + " specified. Check your <archive><manifest><customLayout/> element." );
+            }
+            return layout;
+        }
+        else
+        {
+            throw new ManifestException( "Unknown classpath layout type: '" + layoutType
+                + "'. Check your <archive><manifest><layoutType/> element." );
+        }
+    }
+
+    private String interpolateClasspathLayout( Interpolator interpolator, Artifact artifact, String layout )
+        throws ManifestException
+    {
+        List<ValueSource> valueSources = new ArrayList<ValueSource>();
+
+        handleExtraExpression( artifact, valueSources );
+
+        for ( ValueSource vs : valueSources )
+        {
+            interpolator.addValueSource( vs );
+        }
+
+        RecursionInterceptor recursionInterceptor =
+            new PrefixAwareRecursionInterceptor( ARTIFACT_EXPRESSION_PREFIXES );
+
+        try
+        {
+            return interpolator.interpolate( layout, recursionInterceptor );
+        }
+        catch ( InterpolationException e )
+        {
+            ManifestException error =
+                new ManifestException( "Error interpolating artifact path for classpath entry: " + e.getMessage() );
+
+            error.initCause( e );
+            throw error;
+        }
+        finally
+        {
+            for ( ValueSource vs : valueSources )
+            {
+                interpolator.removeValuesSource( vs );
+            }
+        }
+    }
+
     private void handleExtraExpression( Artifact artifact, List<ValueSource> valueSources )
     {
         valueSources.add( new PrefixedObjectValueSource( ARTIFACT_EXPRESSION_PREFIXES, artifact,
@@ -598,8 +618,9 @@ public class MavenArchiver
             File dir = new File( workingProject.getBuild().getDirectory(), "maven-archiver" );
             File pomPropertiesFile = new File( dir, "pom.properties" );
 
+            // keep an unchanged pom.properties untouched, otherwise it would invalidate the archive fingerprint
             new PomPropertiesUtil().createPomProperties( session, workingProject, archiver,
-                customPomPropertiesFile, pomPropertiesFile, forced );
+                customPomPropertiesFile, pomPropertiesFile, forced && !archiveConfiguration.isSkipIfUnchanged() );
         }
 
         // ----------------------------------------------------------------------
@@ -645,8 +666,36 @@ public class MavenArchiver
             // "Forced build is disabled, but disabling the forced mode isn't supported by the archiver." );
         }
 
+        // skipIfUnchanged takes precedence over forced, which is true by default
+        ArchiveFingerprint fingerprint = null;
+        if ( archiveConfiguration.isSkipIfUnchanged() && archiveFile != null )
+        {
+            // the archiver scans its resources again if the archive has to be recreated
+            fingerprint = ArchiveFingerprint.compute( getArchiveEntries( archiver ), manifest, archiveConfiguration );
+            if ( fingerprint.matches( archiveFile ) )
+            {
+                // the archive is up to date, nothing to repackage
+                return;
+            }
+        }
+
         // create archive
         archiver.createArchive();
+
+        if ( fingerprint != null )
+        {
+            fingerprint.store( archiveFile );
+        }
+    }
+
+    private static List<ArchiveEntry> getArchiveEntries( JarArchiver archiver )
+    {
+        List<ArchiveEntry> entries = new ArrayList<ArchiveEntry>();
+        for ( ResourceIterator iter = archiver.getResources(); iter.hasNext(); )
+        {
+            entries.add( iter.next() );
+        }
+        return entries;
     }
 
     private void addCreatedByEntry( MavenSession session, Manifest m, Map<String, String> entries )
@@ -664,19 +713,18 @@ public class MavenArchiver
         addManifestAttribute( m, entries, "Created-By", createdBy );
     }
 
-    private Artifact findArtifactWithFile( Set<Artifact> artifacts, File file )
+    private Map<File, Artifact> indexArtifactsByFile( Set<Artifact> artifacts )
     {
+        Map<File, Artifact> artifactsByFile = new HashMap<File, Artifact>( artifacts.size() * 2 );
         for ( Artifact artifact : artifacts )
         {
             // normally not null but we can check
-            if ( artifact.getFile() != null )
+            // keep the first artifact for a file, as the former linear search did
+            if ( artifact.getFile() != null && !artifactsByFile.containsKey( artifact.getFile() ) )
             {
-                if ( artifact.getFile().equals( file ) )
-                {
-                    return artifact;
-                }
+                artifactsByFile.put( artifact.getFile(), artifact );
             }
         }
-        return null;
+        return artifactsByFile;
     }
 }
@@ -0,0 +1,86 @@
+package org.apache.maven.archiver;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.Test;
+
+public class ClasspathLayoutFormatterTest
+{
+
+    private static Artifact createArtifact( String version, String classifier )
+    {
+        return new DefaultArtifact( "org.apache.dummy", "dummy1", VersionRange.createFromVersion( version ),
+                                    "compile", "jar", classifier, new DefaultArtifactHandler( "jar" ) );
+    }
+
+    private static String format( String layout, Artifact artifact )
+    {
+        ClasspathLayoutFormatter formatter = ClasspathLayoutFormatter.compile( layout );
+        assertThat( formatter ).isNotNull();
+
+        StringBuilder buffer = new StringBuilder();
+        formatter.format( artifact, buffer );
+        return buffer.toString();
+    }
+
+    @Test
+    public void simpleLayoutShouldUseUniqueVersion()
+    {
+        Artifact artifact = createArtifact( "1.1-20081022.112233-1", null );
+        assertThat( format( MavenArchiver.SIMPLE_LAYOUT, artifact ) ).isEqualTo( "dummy1-1.1-20081022.112233-1.jar" );
+        assertThat( format( MavenArchiver.SIMPLE_LAYOUT_NONUNIQUE, artifact ) ).isEqualTo( "dummy1-1.1-SNAPSHOT.jar" );
+    }
+
+    @Test
+    public void repositoryLayoutShouldUseGroupIdPathAndClassifier()
+    {
+        Artifact artifact = createArtifact( "1.0", "tests" );
+        assertThat( format( MavenArchiver.REPOSITORY_LAYOUT, artifact ) )
+            .isEqualTo( "org/apache/dummy/dummy1/1.0/dummy1-1.0-tests.jar" );
+    }
+
+    @Test
+    public void unprefixedExpressionsShouldBeSupported()
+    {
+        Artifact artifact = createArtifact( "1.0", null );
+        assertThat( format( "lib/${groupId}/${artifactId}${dashClassifier}.${extension}", artifact ) )
+            .isEqualTo( "lib/org.apache.dummy/dummy1.jar" );
+    }
+
+    @Test
+    public void unterminatedExpressionShouldBeKeptVerbatim()
+    {
+        Artifact artifact = createArtifact( "1.0", null );
+        assertThat( format( "${artifact.artifactId}-${artifact.version", artifact ) )
+            .isEqualTo( "dummy1-${artifact.version" );
+    }
+
+    @Test
+    public void unsupportedExpressionShouldNotCompile()
+    {
+        assertThat( ClasspathLayoutFormatter.compile( "${artifact.scope}/${artifact.artifactId}.jar" ) ).isNull();
+    }
+}
@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +60,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
@@ -252,6 +254,85 @@ public class MavenArchiverTest
         assertTrue( jarFile.lastModified() > time );
     }
 
+    @Test
+    public void testSkipIfUnchanged()
+        throws Exception
+    {
+        File jarFile = new File( "target/test/dummy-skip-if-unchanged.jar" );
+        JarArchiver jarArchiver = getCleanJarArchiver( jarFile );
+        File fingerprintFile = ArchiveFingerprint.getFingerprintFile( jarFile );
+        fingerprintFile.delete();
+
+        MavenSession session = getDummySession();
+        MavenProject project = getDummyProject();
+
+        MavenArchiveConfiguration config = new MavenArchiveConfiguration();
+        config.setSkipIfUnchanged( true );
+
+        FileUtils.deleteDirectory( "target/maven-archiver" );
+        getMavenArchiver( jarArchiver ).createArchive( session, project, config );
+        assertTrue( jarFile.exists() );
+        assertTrue( fingerprintFile.exists() );
+        long time = jarFile.lastModified();
+        String fingerprint = FileUtils.fileRead( fingerprintFile );
+
+        jarArchiver = new JarArchiver();
+        jarArchiver.setDestFile( jarFile );
+        getMavenArchiver( jarArchiver ).createArchive( session, project, config );
+        assertEquals( time, jarFile.lastModified() );
+        assertEquals( fingerprint, FileUtils.fileRead( fingerprintFile ) );
+
+        config.setCompress( false );
+        jarArchiver = new JarArchiver();
+        jarArchiver.setDestFile( jarFile );
+        getMavenArchiver( jarArchiver ).createArchive( session, project, config );
+        assertFalse( fingerprint.equals( FileUtils.fileRead( fingerprintFile ) ) );
+    }
+
+    @Test
+    public void testSkipIfUnchangedKeepsAllEntries()
+        throws Exception
+    {
+        MavenSession session = getDummySession();
+        MavenProject project = getDummyProject();
+
+        File jarFile = new File( "target/test/dummy-skip-if-unchanged-entries.jar" );
+        ArchiveFingerprint.getFingerprintFile( jarFile ).delete();
+        JarArchiver jarArchiver = getCleanJarArchiver( jarFile );
+        jarArchiver.addDirectory( new File( "src/test/resources" ) );
+        MavenArchiveConfiguration config = new MavenArchiveConfiguration();
+        config.setSkipIfUnchanged( true );
+        getMavenArchiver( jarArchiver ).createArchive( session, project, config );
+
+        File expectedJarFile = new File( "target/test/dummy-skip-if-unchanged-expected.jar" );
+        jarArchiver = getCleanJarArchiver( expectedJarFile );
+        jarArchiver.addDirectory( new File( "src/test/resources" ) );
+        getMavenArchiver( jarArchiver ).createArchive( session, project, new MavenArchiveConfiguration() );
+
+        Set<String> entries = getEntryNames( jarFile );
+        assertTrue( entries.contains( "dummy1-1.0.jar" ) );
+        assertEquals( getEntryNames( expectedJarFile ), entries );
+    }
+
+    private Set<String> getEntryNames( File file )
+        throws IOException
+    {
+        JarFile jar = new JarFile( file );
+        try
+        {
+            Set<String> names = new TreeSet<String>();
+            for ( Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); )
+            {
+                names.add( entries.nextElement().getName() );
+            }
+            return names;
+        }
+        finally
+        {
+            jar.close();
+        }
+    }
+
     @Test
     public void testNotGenerateImplementationVersionForMANIFESTMF()
         throws Exception
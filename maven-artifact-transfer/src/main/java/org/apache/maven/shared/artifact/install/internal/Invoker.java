@@ -22,6 +22,7 @@ package org.apache.maven.shared.artifact.install.internal;
 import java.lang.reflect.InvocationTargetException;
 
 import org.apache.maven.shared.artifact.install.ArtifactInstallerException;
+import org.apache.maven.shared.artifact.internal.MethodCache;
 
 /**
  * Invokes method on objects using reflection.
@@ -44,7 +45,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( method ).invoke( object );
+            return MethodCache.getMethod( objectClazz, method ).invoke( object );
         }
         catch ( IllegalAccessException e )
         {
@@ -66,7 +67,7 @@ final class Invoker
         try
         {
             final Class<?> objectClazz = object.getClass();
-            return objectClazz.getMethod( method, argClazz ).invoke( object, arg );
+            return MethodCache.getMethod( objectClazz, method, argClazz ).invoke( object, arg );
         }
         catch ( IllegalAccessException e )
         {
@@ -87,7 +88,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( staticMethod, argClazz ).invoke( null, arg );
+            return MethodCache.getMethod( objectClazz, staticMethod, argClazz ).invoke( null, arg );
         }
         catch ( IllegalAccessException e )
         {
@@ -0,0 +1,69 @@
+package org.apache.maven.shared.artifact.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Looks up the methods which the Invokers of this library call by reflection to bridge the Maven 3.0 and 3.1 APIs.
+ * These methods are invoked for every single artifact or dependency, so each of them is looked up only once.
+ * <strong>Warning:</strong> This is an internal utility class that is only public for technical reasons, it is not
+ * part of the public API. In particular, this class can be changed or deleted without prior notice.
+ */
+public final class MethodCache
+{
+    private static final ConcurrentMap<List<Object>, Method> METHODS =
+        new ConcurrentHashMap<List<Object>, Method>();
+
+    private MethodCache()
+    {
+        // do not instantiate
+    }
+
+    /**
+     * Same as {@link Class#getMethod(String, Class...)}, but the method is only looked up the first time.
+     * 
+     * @param objectClazz the class declaring or inheriting the method
+     * @param method the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return the public method
+     * @throws NoSuchMethodException if there is no such method
+     */
+    public static Method getMethod( Class<?> objectClazz, String method, Class<?>... parameterTypes )
+        throws NoSuchMethodException
+    {
+        Object[] signature = new Object[parameterTypes.length + 2];
+        signature[0] = objectClazz;
+        signature[1] = method;
+        System.arraycopy( parameterTypes, 0, signature, 2, parameterTypes.length );
+        List<Object> key = Arrays.asList( signature );
+        Method result = METHODS.get( key );
+        if ( result == null )
+        {
+            result = objectClazz.getMethod( method, parameterTypes );
+            METHODS.putIfAbsent( key, result );
+        }
+        return result;
+    }
+}
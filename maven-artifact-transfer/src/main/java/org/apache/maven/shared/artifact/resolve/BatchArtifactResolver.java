@@ -0,0 +1,52 @@
+package org.apache.maven.shared.artifact.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Collection;
+
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.artifact.ArtifactCoordinate;
+
+/**
+ * An {@link ArtifactResolver} which is able to resolve several artifacts at once. The default {@link ArtifactResolver}
+ * implements this interface, so callers can check for it with <code>instanceof</code>.
+ *
+ * @since 0.9.2
+ */
+public interface BatchArtifactResolver
+    extends ArtifactResolver
+{
+
+    /**
+     * Resolves several artifacts with a single request to the repository system, which is able to download them in
+     * parallel and to check the local repository for all of them at once. To respect relocations, the artifact
+     * descriptor of every coordinate is read first, one after another, so the POMs are not fetched in parallel.
+     *
+     * @param buildingRequest {@link ProjectBuildingRequest}
+     * @param coordinates the {@link ArtifactCoordinate}s to resolve, never {@code null}
+     * @return the {@link ArtifactResult}s, in the order of the coordinates.
+     * @throws ArtifactResolverException in case of an error, e.g. if any of the artifacts could not be resolved, in
+     *             which case none of the results is returned.
+     */
+    Iterable<ArtifactResult> resolveArtifacts( ProjectBuildingRequest buildingRequest,
+                                               Collection<ArtifactCoordinate> coordinates )
+        throws ArtifactResolverException;
+}
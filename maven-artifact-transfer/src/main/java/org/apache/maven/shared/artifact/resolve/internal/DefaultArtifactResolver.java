@@ -19,12 +19,15 @@ package org.apache.maven.shared.artifact.resolve.internal;
  * under the License.
  */
 
+import java.util.Collection;
+
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.artifact.ArtifactCoordinate;
 import org.apache.maven.shared.artifact.resolve.ArtifactResolver;
 import org.apache.maven.shared.artifact.resolve.ArtifactResolverException;
 import org.apache.maven.shared.artifact.resolve.ArtifactResult;
+import org.apache.maven.shared.artifact.resolve.BatchArtifactResolver;
 import org.codehaus.plexus.PlexusConstants;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.annotations.Component;
@@ -38,7 +41,7 @@ import org.codehaus.plexus.personality.plexus.lifecycle.phase.Contextualizable;
  */
 @Component( role = ArtifactResolver.class, hint = "default" )
 public class DefaultArtifactResolver
-    implements ArtifactResolver, Contextualizable
+    implements BatchArtifactResolver, Contextualizable
 {
     private PlexusContainer container;
 
@@ -78,6 +81,26 @@ public class DefaultArtifactResolver
         }
     }
 
+    @Override
+    public Iterable<ArtifactResult> resolveArtifacts( ProjectBuildingRequest buildingRequest,
+                                                      Collection<ArtifactCoordinate> coordinates )
+        throws ArtifactResolverException
+    {
+        try
+        {
+            String hint = isMaven31() ? "maven31" : "maven3";
+
+            BatchArtifactResolver effectiveArtifactResolver =
+                (BatchArtifactResolver) container.lookup( ArtifactResolver.class, hint );
+
+            return effectiveArtifactResolver.resolveArtifacts( buildingRequest, coordinates );
+        }
+        catch ( ComponentLookupException e )
+        {
+            throw new ArtifactResolverException( e.getMessage(), e );
+        }
+    }
+
 //    @Override
 //    public Iterable<ArtifactResult> resolveDependencies( ProjectBuildingRequest buildingRequest,
 //                                                         Collection<Dependency> coordinates,
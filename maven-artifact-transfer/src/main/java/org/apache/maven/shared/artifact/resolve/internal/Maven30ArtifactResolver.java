@@ -19,6 +19,8 @@ package org.apache.maven.shared.artifact.resolve.internal;
  * under the License.
  */
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.maven.RepositoryUtils;
@@ -27,6 +29,7 @@ import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.artifact.ArtifactCoordinate;
 import org.apache.maven.shared.artifact.resolve.ArtifactResolver;
 import org.apache.maven.shared.artifact.resolve.ArtifactResolverException;
+import org.apache.maven.shared.artifact.resolve.BatchArtifactResolver;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.sonatype.aether.RepositorySystem;
@@ -38,6 +41,7 @@ import org.sonatype.aether.resolution.ArtifactDescriptorRequest;
 import org.sonatype.aether.resolution.ArtifactDescriptorResult;
 import org.sonatype.aether.resolution.ArtifactRequest;
 import org.sonatype.aether.resolution.ArtifactResolutionException;
+import org.sonatype.aether.resolution.ArtifactResult;
 import org.sonatype.aether.util.artifact.DefaultArtifact;
 
 /**
@@ -45,7 +49,7 @@ import org.sonatype.aether.util.artifact.DefaultArtifact;
  */
 @Component( role = ArtifactResolver.class, hint = "maven3" )
 public class Maven30ArtifactResolver
-    implements ArtifactResolver
+    implements BatchArtifactResolver
 {
     @Requirement
     private RepositorySystem repositorySystem;
@@ -73,11 +77,61 @@ public class Maven30ArtifactResolver
                                                                                         throws ArtifactResolverException
     // CHECKSTYLE_ON: LineLength
     {
-        Artifact aetherArtifact =
-            new DefaultArtifact( coordinate.getGroupId(), coordinate.getArtifactId(), coordinate.getClassifier(),
-                                 coordinate.getExtension(), coordinate.getVersion() );
+        return resolveArtifact( buildingRequest, toArtifact( coordinate ) );
+    }
 
-        return resolveArtifact( buildingRequest, aetherArtifact );
+    @Override
+    // CHECKSTYLE_OFF: LineLength
+    public Iterable<org.apache.maven.shared.artifact.resolve.ArtifactResult> resolveArtifacts( ProjectBuildingRequest buildingRequest,
+                                                                                               Collection<ArtifactCoordinate> coordinates )
+                                                                                                   throws ArtifactResolverException
+    // CHECKSTYLE_ON: LineLength
+    {
+        @SuppressWarnings( "unchecked" )
+        List<RemoteRepository> aetherRepositories =
+            (List<RemoteRepository>) Invoker.invoke( RepositoryUtils.class, "toRepos", List.class,
+                                                     buildingRequest.getRemoteRepositories() );
+
+        RepositorySystemSession session =
+            (RepositorySystemSession) Invoker.invoke( buildingRequest, "getRepositorySession" );
+
+        return resolveArtifacts( session, aetherRepositories, coordinates );
+    }
+
+    /**
+     * The artifact descriptors are read one after another, only the artifacts themselves are resolved with a single
+     * request.
+     */
+    // CHECKSTYLE_OFF: LineLength
+    List<org.apache.maven.shared.artifact.resolve.ArtifactResult> resolveArtifacts( RepositorySystemSession session,
+                                                                                    List<RemoteRepository> aetherRepositories,
+                                                                                    Collection<ArtifactCoordinate> coordinates )
+                                                                                        throws ArtifactResolverException
+    // CHECKSTYLE_ON: LineLength
+    {
+        List<ArtifactRequest> requests = new ArrayList<ArtifactRequest>( coordinates.size() );
+        for ( ArtifactCoordinate coordinate : coordinates )
+        {
+            requests.add( newArtifactRequest( session, aetherRepositories, toArtifact( coordinate ) ) );
+        }
+
+        try
+        {
+            // one request for all artifacts, so the repository system can resolve them in parallel
+            List<ArtifactResult> aetherResults = repositorySystem.resolveArtifacts( session, requests );
+
+            List<org.apache.maven.shared.artifact.resolve.ArtifactResult> results =
+                new ArrayList<org.apache.maven.shared.artifact.resolve.ArtifactResult>( aetherResults.size() );
+            for ( ArtifactResult aetherResult : aetherResults )
+            {
+                results.add( new Maven30ArtifactResult( aetherResult ) );
+            }
+            return results;
+        }
+        catch ( ArtifactResolutionException e )
+        {
+            throw new ArtifactResolverException( e.getMessage(), e );
+        }
     }
 
     // CHECKSTYLE_OFF: LineLength
@@ -94,6 +148,22 @@ public class Maven30ArtifactResolver
         RepositorySystemSession session =
             (RepositorySystemSession) Invoker.invoke( buildingRequest, "getRepositorySession" );
 
+        ArtifactRequest request = newArtifactRequest( session, aetherRepositories, aetherArtifact );
+
+        try
+        {
+            return new Maven30ArtifactResult( repositorySystem.resolveArtifact( session, request ) );
+        }
+        catch ( ArtifactResolutionException e )
+        {
+            throw new ArtifactResolverException( e.getMessage(), e );
+        }
+    }
+
+    private ArtifactRequest newArtifactRequest( RepositorySystemSession session,
+                                                List<RemoteRepository> aetherRepositories, Artifact aetherArtifact )
+        throws ArtifactResolverException
+    {
         try
         {
             // use descriptor to respect relocation
@@ -103,18 +173,18 @@ public class Maven30ArtifactResolver
             ArtifactDescriptorResult descriptorResult =
                 repositorySystem.readArtifactDescriptor( session, descriptorRequest );
 
-            ArtifactRequest request = new ArtifactRequest( descriptorResult.getArtifact(), aetherRepositories, null );
-
-            return new Maven30ArtifactResult( repositorySystem.resolveArtifact( session, request ) );
+            return new ArtifactRequest( descriptorResult.getArtifact(), aetherRepositories, null );
         }
         catch ( ArtifactDescriptorException e )
         {
             throw new ArtifactResolverException( e.getMessage(), e );
         }
-        catch ( ArtifactResolutionException e )
-        {
-            throw new ArtifactResolverException( e.getMessage(), e );
-        }
+    }
+
+    private static Artifact toArtifact( ArtifactCoordinate coordinate )
+    {
+        return new DefaultArtifact( coordinate.getGroupId(), coordinate.getArtifactId(), coordinate.getClassifier(),
+                                    coordinate.getExtension(), coordinate.getVersion() );
     }
 
 //    @Override
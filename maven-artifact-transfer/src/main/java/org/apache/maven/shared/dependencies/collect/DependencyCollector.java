@@ -32,6 +32,14 @@ import org.apache.maven.shared.dependencies.DependableCoordinate;
  */
 public interface DependencyCollector
 {
+    /**
+     * Name of the repository session configuration property to enable caching of the collected dependencies, e.g.
+     * <code>-Dmaven.shared.dependencies.collect.cache=true</code>. When enabled, requests with the same root,
+     * dependencies, managed dependencies and repositories, including their authentication, proxy and mirrors, are
+     * collected only once per repository session, and all of them get the same immutable {@link CollectorResult}.
+     * The cache is kept in the data of the repository session.
+     */
+    String CACHE_CONFIG_PROPERTY = "maven.shared.dependencies.collect.cache";
 
     /**
      * A dependency may have excludes 
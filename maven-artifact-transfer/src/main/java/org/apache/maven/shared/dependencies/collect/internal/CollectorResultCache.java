@@ -0,0 +1,103 @@
+package org.apache.maven.shared.dependencies.collect.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.shared.dependencies.collect.CollectorResult;
+import org.apache.maven.shared.dependencies.collect.DependencyCollector;
+
+/**
+ * Cache of collected dependencies, enabled by {@link DependencyCollector#CACHE_CONFIG_PROPERTY}. The cache is stored in
+ * the data of the repository session, so it is gone together with its session.
+ */
+final class CollectorResultCache
+{
+    /**
+     * The key of the cache in the session data. It is unique per class loader, so plugins with different versions of
+     * this library don't share their results.
+     */
+    static final Object SESSION_DATA_KEY = CollectorResultCache.class;
+
+    private CollectorResultCache()
+    {
+        // do not instantiate
+    }
+
+    /**
+     * @param configProperties the configuration properties of the repository session
+     * @return <code>true</code> if the collected dependencies should be cached.
+     */
+    static boolean isEnabled( Map<?, ?> configProperties )
+    {
+        Object value = configProperties.get( DependencyCollector.CACHE_CONFIG_PROPERTY );
+        return Boolean.TRUE.equals( value ) || ( value instanceof String && Boolean.parseBoolean( (String) value ) );
+    }
+
+    /**
+     * @return a new cache to store in the session data.
+     */
+    static ConcurrentMap<Object, CollectorResult> newCache()
+    {
+        return new ConcurrentHashMap<Object, CollectorResult>();
+    }
+
+    /**
+     * The key relies on the equality of the Aether objects, which for the remote repositories includes their
+     * authentication, proxy and mirrored repositories.
+     *
+     * @param root the root dependency of the collect request, may be <code>null</code>
+     * @param dependencies the direct dependencies of the collect request
+     * @param managedDependencies the managed dependencies of the collect request
+     * @param repositories the remote repositories of the collect request
+     * @return the key of the collect request in the cache.
+     */
+    static Object newKey( Object root, List<?> dependencies, List<?> managedDependencies, List<?> repositories )
+    {
+        return Arrays.asList( root, new ArrayList<Object>( dependencies ), new ArrayList<Object>( managedDependencies ),
+                              new ArrayList<Object>( repositories ) );
+    }
+
+    /**
+     * @param result the result to share
+     * @return an immutable copy of the result, which can be shared by all requesters.
+     */
+    static CollectorResult immutable( CollectorResult result )
+    {
+        final List<ArtifactRepository> remoteRepositories =
+            Collections.unmodifiableList( new ArrayList<ArtifactRepository>( result.getRemoteRepositories() ) );
+
+        return new CollectorResult()
+        {
+            @Override
+            public List<ArtifactRepository> getRemoteRepositories()
+            {
+                return remoteRepositories;
+            }
+        };
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.maven.shared.dependencies.collect.internal;
 
 import java.lang.reflect.InvocationTargetException;
 
+import org.apache.maven.shared.artifact.internal.MethodCache;
 import org.apache.maven.shared.dependencies.collect.DependencyCollectorException;
 
 /**
@@ -44,7 +45,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( method ).invoke( object );
+            return MethodCache.getMethod( objectClazz, method ).invoke( object );
         }
         catch ( IllegalAccessException e )
         {
@@ -66,7 +67,7 @@ final class Invoker
         try
         {
             final Class<?> objectClazz = object.getClass();
-            return objectClazz.getMethod( method, argClazz ).invoke( object, arg );
+            return MethodCache.getMethod( objectClazz, method, argClazz ).invoke( object, arg );
         }
         catch ( IllegalAccessException e )
         {
@@ -87,7 +88,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( staticMethod, argClazz ).invoke( null, arg );
+            return MethodCache.getMethod( objectClazz, staticMethod, argClazz ).invoke( null, arg );
         }
         catch ( IllegalAccessException e )
         {
@@ -118,7 +119,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( staticMethod, argClasses ).invoke( null, args );
+            return MethodCache.getMethod( objectClazz, staticMethod, argClasses ).invoke( null, args );
         }
         catch ( IllegalAccessException e )
         {
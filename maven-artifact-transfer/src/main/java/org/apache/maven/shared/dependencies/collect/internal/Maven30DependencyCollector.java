@@ -21,6 +21,7 @@ package org.apache.maven.shared.dependencies.collect.internal;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.handler.ArtifactHandler;
@@ -35,6 +36,7 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.sonatype.aether.RepositorySystem;
 import org.sonatype.aether.RepositorySystemSession;
+import org.sonatype.aether.SessionData;
 import org.sonatype.aether.artifact.Artifact;
 import org.sonatype.aether.artifact.ArtifactTypeRegistry;
 import org.sonatype.aether.collection.CollectRequest;
@@ -145,6 +147,32 @@ public class Maven30DependencyCollector
                                                      buildingRequest.getRemoteRepositories() );
         request.setRepositories( aetherRepositories );
 
+        if ( !CollectorResultCache.isEnabled( session.getConfigProperties() ) )
+        {
+            return collectDependencies( session, request );
+        }
+
+        ConcurrentMap<Object, CollectorResult> cache = getCache( session );
+        Object key = CollectorResultCache.newKey( request.getRoot(), request.getDependencies(),
+                                                  request.getManagedDependencies(), request.getRepositories() );
+
+        CollectorResult result = cache.get( key );
+        if ( result == null )
+        {
+            result = CollectorResultCache.immutable( collectDependencies( session, request ) );
+
+            CollectorResult existing = cache.putIfAbsent( key, result );
+            if ( existing != null )
+            {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    private CollectorResult collectDependencies( RepositorySystemSession session, CollectRequest request )
+        throws DependencyCollectorException
+    {
         try
         {
             return new Maven30CollectorResult( repositorySystem.collectDependencies( session, request ) );
@@ -155,6 +183,23 @@ public class Maven30DependencyCollector
         }
     }
 
+    @SuppressWarnings( "unchecked" )
+    private static ConcurrentMap<Object, CollectorResult> getCache( RepositorySystemSession session )
+    {
+        SessionData data = session.getData();
+        // this session data can't set a value atomically, so the check and the set are guarded by the session data
+        synchronized ( data )
+        {
+            Object cache = data.get( CollectorResultCache.SESSION_DATA_KEY );
+            if ( cache == null )
+            {
+                cache = CollectorResultCache.newCache();
+                data.set( CollectorResultCache.SESSION_DATA_KEY, cache );
+            }
+            return (ConcurrentMap<Object, CollectorResult>) cache;
+        }
+    }
+
     private static Dependency toDependency( org.apache.maven.model.Dependency mavenDependency,
                                             ArtifactTypeRegistry typeRegistry )
         throws DependencyCollectorException
@@ -21,6 +21,7 @@ package org.apache.maven.shared.dependencies.collect.internal;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.handler.ArtifactHandler;
@@ -35,6 +36,7 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.ArtifactTypeRegistry;
 import org.eclipse.aether.artifact.DefaultArtifact;
@@ -145,6 +147,32 @@ public class Maven31DependencyCollector
                                                      buildingRequest.getRemoteRepositories() );
         request.setRepositories( aetherRepositories );
 
+        if ( !CollectorResultCache.isEnabled( session.getConfigProperties() ) )
+        {
+            return collectDependencies( session, request );
+        }
+
+        ConcurrentMap<Object, CollectorResult> cache = getCache( session );
+        Object key = CollectorResultCache.newKey( request.getRoot(), request.getDependencies(),
+                                                  request.getManagedDependencies(), request.getRepositories() );
+
+        CollectorResult result = cache.get( key );
+        if ( result == null )
+        {
+            result = CollectorResultCache.immutable( collectDependencies( session, request ) );
+
+            CollectorResult existing = cache.putIfAbsent( key, result );
+            if ( existing != null )
+            {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    private CollectorResult collectDependencies( RepositorySystemSession session, CollectRequest request )
+        throws DependencyCollectorException
+    {
         try
         {
             return new Maven31CollectorResult( repositorySystem.collectDependencies( session, request ) );
@@ -155,6 +183,19 @@ public class Maven31DependencyCollector
         }
     }
 
+    @SuppressWarnings( "unchecked" )
+    private static ConcurrentMap<Object, CollectorResult> getCache( RepositorySystemSession session )
+    {
+        SessionData data = session.getData();
+        Object cache = data.get( CollectorResultCache.SESSION_DATA_KEY );
+        while ( cache == null )
+        {
+            data.set( CollectorResultCache.SESSION_DATA_KEY, null, CollectorResultCache.newCache() );
+            cache = data.get( CollectorResultCache.SESSION_DATA_KEY );
+        }
+        return (ConcurrentMap<Object, CollectorResult>) cache;
+    }
+
     private static Dependency toDependency( org.apache.maven.model.Dependency root, ArtifactTypeRegistry typeRegistry )
                     throws DependencyCollectorException
     {
@@ -29,6 +29,9 @@ import org.apache.maven.shared.artifact.resolve.ArtifactResult;
 import org.apache.maven.shared.dependencies.DependableCoordinate;
 
 /**
+ * The resolved dependencies are returned lazily: every {@link ArtifactResult} is converted on first access only, and
+ * at most once, so the returned {@link Iterable} can be iterated several times and by several threads at once.
+ *
  * @author Robert Scholte
  */
 public interface DependencyResolver
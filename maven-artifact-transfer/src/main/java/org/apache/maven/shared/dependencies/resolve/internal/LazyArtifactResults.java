@@ -0,0 +1,77 @@
+package org.apache.maven.shared.dependencies.resolve.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.maven.shared.artifact.resolve.ArtifactResult;
+
+/**
+ * Read-only view of the artifact results of a repository system, each converted only when it is accessed for the
+ * first time. The size is known without converting anything. Converted results are cached, so iterating several times
+ * converts every result only once, and the view may be consumed by several threads at the same time.
+ *
+ * @param <T> the type of the repository system's artifact result
+ */
+abstract class LazyArtifactResults<T>
+    extends AbstractList<ArtifactResult>
+    implements RandomAccess
+{
+    private final List<T> results;
+
+    private final AtomicReferenceArray<ArtifactResult> converted;
+
+    /**
+     * @param results the results of the repository system, must not change afterwards
+     */
+    LazyArtifactResults( List<T> results )
+    {
+        this.results = results;
+        this.converted = new AtomicReferenceArray<ArtifactResult>( results.size() );
+    }
+
+    @Override
+    public ArtifactResult get( int index )
+    {
+        ArtifactResult result = converted.get( index );
+        if ( result == null )
+        {
+            // concurrent conversions of the same result are harmless, the first one wins
+            converted.compareAndSet( index, null, convert( results.get( index ) ) );
+            result = converted.get( index );
+        }
+        return result;
+    }
+
+    @Override
+    public int size()
+    {
+        return results.size();
+    }
+
+    /**
+     * @param result the result of the repository system
+     * @return the converted result
+     */
+    protected abstract ArtifactResult convert( T result );
+}
@@ -21,7 +21,6 @@ package org.apache.maven.shared.dependencies.resolve.internal;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 
 import org.apache.maven.RepositoryUtils;
@@ -227,22 +226,12 @@ public class Maven30DependencyResolver
                 repositorySystem.resolveDependencies( session, request, depFilter );
 
             // Keep it lazy! Often artifactsResults aren't used, so transforming up front is too expensive
-            return new Iterable<org.apache.maven.shared.artifact.resolve.ArtifactResult>()
+            return new LazyArtifactResults<ArtifactResult>( dependencyResults )
             {
                 @Override
-                public Iterator<org.apache.maven.shared.artifact.resolve.ArtifactResult> iterator()
+                protected org.apache.maven.shared.artifact.resolve.ArtifactResult convert( ArtifactResult result )
                 {
-                    // CHECKSTYLE_OFF: LineLength
-                    Collection<org.apache.maven.shared.artifact.resolve.ArtifactResult> artResults =
-                        new ArrayList<org.apache.maven.shared.artifact.resolve.ArtifactResult>( dependencyResults.size() );
-                    // CHECKSTYLE_ON: LineLength
-                    
-                    for ( ArtifactResult artifactResult : dependencyResults )
-                    {
-                        artResults.add( new Maven30ArtifactResult( artifactResult ) );
-                    }
-
-                    return artResults.iterator();
+                    return new Maven30ArtifactResult( result );
                 }
             };
         }
@@ -22,7 +22,6 @@ package org.apache.maven.shared.dependencies.resolve.internal;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.handler.ArtifactHandler;
@@ -227,22 +226,12 @@ public class Maven31DependencyResolver
             final DependencyResult dependencyResults = repositorySystem.resolveDependencies( session, depRequest );
 
             // Keep it lazy! Often artifactsResults aren't used, so transforming up front is too expensive
-            return new Iterable<org.apache.maven.shared.artifact.resolve.ArtifactResult>()
+            return new LazyArtifactResults<ArtifactResult>( dependencyResults.getArtifactResults() )
             {
                 @Override
-                public Iterator<org.apache.maven.shared.artifact.resolve.ArtifactResult> iterator()
+                protected org.apache.maven.shared.artifact.resolve.ArtifactResult convert( ArtifactResult result )
                 {
-                    // CHECKSTYLE_OFF: LineLength
-                    Collection<org.apache.maven.shared.artifact.resolve.ArtifactResult> artResults =
-                        new ArrayList<org.apache.maven.shared.artifact.resolve.ArtifactResult>( dependencyResults.getArtifactResults().size() );
-                    // CHECKSTYLE_ON: LineLength
-
-                    for ( ArtifactResult artifactResult : dependencyResults.getArtifactResults() )
-                    {
-                        artResults.add( new Maven31ArtifactResult( artifactResult ) );
-                    }
-
-                    return artResults.iterator();
+                    return new Maven31ArtifactResult( result );
                 }
             };
         }
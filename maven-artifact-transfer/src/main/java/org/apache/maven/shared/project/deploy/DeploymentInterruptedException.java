@@ -0,0 +1,42 @@
+package org.apache.maven.shared.project.deploy;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * This exception will be thrown if the deploying thread has been interrupted while it waited to retry failed artifacts.
+ * The interrupt status of the thread is restored before it is thrown.
+ * 
+ * @since 0.9.2
+ */
+public class DeploymentInterruptedException
+    extends RuntimeException
+{
+
+    private static final long serialVersionUID = 4417427233412758253L;
+
+    /**
+     * @param message The message of the error.
+     * @param e {@link InterruptedException}
+     */
+    public DeploymentInterruptedException( String message, InterruptedException e )
+    {
+        super( message, e );
+    }
+}
@@ -56,6 +56,8 @@ public interface ProjectDeployer
      * @param artifactRepository {@link ArtifactRepository}
      * @throws NoFileAssignedException In case of missing file which has not been assigned to project.
      * @throws IllegalArgumentException in case of artifact is not correctly assigned.
+     * @throws DeploymentInterruptedException in case the thread has been interrupted while waiting to retry failed
+     *             artifacts, see {@link ProjectDeployerRequest#setRetryFailedArtifactsOnly(boolean)}.
      */
     void deploy( ProjectBuildingRequest buildingRequest, ProjectDeployerRequest request,
                         ArtifactRepository artifactRepository )
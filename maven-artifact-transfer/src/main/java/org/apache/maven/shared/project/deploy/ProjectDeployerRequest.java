@@ -27,6 +27,12 @@ import org.apache.maven.project.MavenProject;
  */
 public class ProjectDeployerRequest
 {
+    /**
+     * The default initial delay before retrying failed artifacts, in milliseconds.
+     *
+     * @since 0.9.2
+     */
+    public static final long DEFAULT_RETRY_BACKOFF_MILLIS = 1000L;
 
     // From AbstractDeployMojo
 
@@ -34,6 +40,10 @@ public class ProjectDeployerRequest
 
     private int retryFailedDeploymentCount;
 
+    private boolean retryFailedArtifactsOnly;
+
+    private long retryBackoffMillis = DEFAULT_RETRY_BACKOFF_MILLIS;
+
     // From DeployMojo
 
     private MavenProject project;
@@ -80,6 +90,55 @@ public class ProjectDeployerRequest
         return this;
     }
 
+    /**
+     * @return <code>true</code> if artifacts are deployed one by one and only the failed ones are retried.
+     * @since 0.9.2
+     */
+    public boolean isRetryFailedArtifactsOnly()
+    {
+        return retryFailedArtifactsOnly;
+    }
+
+    /**
+     * If set, every artifact is deployed on its own, together with its metadata, and a retry only redeploys the
+     * artifacts which failed, after an exponentially growing, randomized delay. Otherwise a retry redeploys the
+     * complete collection of artifacts right away. Snapshots are always deployed as a whole, so that all their
+     * artifacts get the same timestamped version.
+     *
+     * @param theRetryFailedArtifactsOnlyToBeSet the retryFailedArtifactsOnly to set
+     * @return {@link ProjectDeployerRequest} for chaining.
+     * @since 0.9.2
+     */
+    public ProjectDeployerRequest setRetryFailedArtifactsOnly( boolean theRetryFailedArtifactsOnlyToBeSet )
+    {
+        this.retryFailedArtifactsOnly = theRetryFailedArtifactsOnlyToBeSet;
+        return this;
+    }
+
+    /**
+     * @return the initial delay before retrying failed artifacts, in milliseconds
+     * @since 0.9.2
+     */
+    public long getRetryBackoffMillis()
+    {
+        return retryBackoffMillis;
+    }
+
+    /**
+     * The initial delay before retrying failed artifacts, which doubles with every further attempt up to one minute,
+     * unless the initial delay is already longer. Only used if
+     * {@link #isRetryFailedArtifactsOnly()} is set.
+     *
+     * @param theRetryBackoffMillisToBeSet the initial delay in milliseconds to set
+     * @return {@link ProjectDeployerRequest} for chaining.
+     * @since 0.9.2
+     */
+    public ProjectDeployerRequest setRetryBackoffMillis( long theRetryBackoffMillisToBeSet )
+    {
+        this.retryBackoffMillis = theRetryBackoffMillisToBeSet;
+        return this;
+    }
+
     /**
      * @return the project
      */
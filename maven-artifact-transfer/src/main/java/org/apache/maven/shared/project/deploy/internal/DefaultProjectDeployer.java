@@ -22,7 +22,9 @@ package org.apache.maven.shared.project.deploy.internal;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
@@ -31,6 +33,7 @@ import org.apache.maven.project.artifact.ProjectArtifactMetadata;
 import org.apache.maven.shared.artifact.deploy.ArtifactDeployer;
 import org.apache.maven.shared.artifact.deploy.ArtifactDeployerException;
 import org.apache.maven.shared.project.NoFileAssignedException;
+import org.apache.maven.shared.project.deploy.DeploymentInterruptedException;
 import org.apache.maven.shared.project.deploy.ProjectDeployer;
 import org.apache.maven.shared.project.deploy.ProjectDeployerRequest;
 import org.codehaus.plexus.component.annotations.Component;
@@ -50,6 +53,10 @@ public class DefaultProjectDeployer
 {
     private static final Logger LOGGER = LoggerFactory.getLogger( DefaultProjectDeployer.class );
 
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60000L;
+
+    private static final Random JITTER = new Random();
+
     @Requirement
     private ArtifactDeployer deployer;
 
@@ -61,6 +68,7 @@ public class DefaultProjectDeployer
      * @param artifactRepository {@link ArtifactRepository}
      * @throws IllegalArgumentException in case of artifact is not correctly assigned.
      * @throws NoFileAssignedException In case no file has been assigned to main file.
+     * @throws DeploymentInterruptedException In case the thread has been interrupted while waiting for a retry.
      */
     public void deploy( ProjectBuildingRequest buildingRequest, ProjectDeployerRequest request,
                         ArtifactRepository artifactRepository )
@@ -128,7 +136,15 @@ public class DefaultProjectDeployer
                 deployableArtifacts.add( attached );
             }
 
-            deploy( buildingRequest, deployableArtifacts, artifactRepository, retryFailedDeploymentCount );
+            if ( request.isRetryFailedArtifactsOnly() && !artifact.isSnapshot() )
+            {
+                deployIndividually( buildingRequest, deployableArtifacts, artifactRepository,
+                                    retryFailedDeploymentCount, request.getRetryBackoffMillis() );
+            }
+            else
+            {
+                deploy( buildingRequest, deployableArtifacts, artifactRepository, retryFailedDeploymentCount );
+            }
         }
         catch ( ArtifactDeployerException e )
         {
@@ -177,4 +193,122 @@ public class DefaultProjectDeployer
         }
     }
 
+    /**
+     * Deploys every artifact on its own, so that a retry only redeploys the artifacts which failed. The metadata of an
+     * artifact is deployed together with it. The artifacts are deployed one after another, as the repository system
+     * updates the same repository metadata for each of them and the first one, which carries the POM, must be
+     * deployed before the metadata lists the version. If it fails, no other artifact is deployed in that pass.
+     */
+    private void deployIndividually( ProjectBuildingRequest request, List<Artifact> artifacts,
+                                     ArtifactRepository deploymentRepository, int retryFailedDeploymentCount,
+                                     long retryBackoffMillis )
+        throws ArtifactDeployerException
+    {
+        int retryFailedDeploymentCounter = Math.max( 1, Math.min( 10, retryFailedDeploymentCount ) );
+        Artifact pomArtifact = artifacts.isEmpty() ? null : artifacts.get( 0 );
+        List<Artifact> pending = artifacts;
+        ArtifactDeployerException exception = null;
+        for ( int count = 0; count < retryFailedDeploymentCounter && !pending.isEmpty(); count++ )
+        {
+            if ( count > 0 )
+            {
+                long delay = getRetryDelay( retryBackoffMillis, count );
+                LOGGER.info( "Retrying deployment of " + pending.size() + " failed artifact(s) in " + delay
+                    + " ms, attempt " + ( count + 1 ) + " of " + retryFailedDeploymentCounter );
+                try
+                {
+                    Thread.sleep( delay );
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                    throw new DeploymentInterruptedException( "Deployment has been interrupted", e );
+                }
+            }
+
+            List<Artifact> failed = new ArrayList<Artifact>();
+            exception = null;
+            for ( Artifact artifact : pending )
+            {
+                ArtifactDeployerException e = deployArtifact( request, artifact, deploymentRepository );
+                if ( e != null )
+                {
+                    if ( exception == null )
+                    {
+                        exception = e;
+                    }
+                    if ( artifact == pomArtifact )
+                    {
+                        // deploying the others would list the version in the metadata while the POM is missing
+                        failed.addAll( pending );
+                        break;
+                    }
+                    failed.add( artifact );
+                }
+            }
+            pending = failed;
+        }
+        if ( exception != null )
+        {
+            throw exception;
+        }
+    }
+
+    /**
+     * @return The exception if the deployment failed, otherwise <code>null</code>.
+     */
+    private ArtifactDeployerException deployArtifact( ProjectBuildingRequest request, Artifact artifact,
+                                                      ArtifactRepository deploymentRepository )
+    {
+        long start = System.currentTimeMillis();
+        try
+        {
+            deployer.deploy( request, deploymentRepository, Collections.singletonList( artifact ) );
+            logTiming( artifact, System.currentTimeMillis() - start );
+            return null;
+        }
+        catch ( ArtifactDeployerException e )
+        {
+            LOGGER.warn( "Encountered issue during deployment of " + artifact.getId() + ": "
+                + e.getLocalizedMessage() );
+            LOGGER.debug( e.getMessage() );
+            return e;
+        }
+    }
+
+    /**
+     * @param retryBackoffMillis The initial delay.
+     * @param retry The retry, starting at 1.
+     * @return The exponential delay for the retry, of which up to a half is randomized.
+     */
+    static long getRetryDelay( long retryBackoffMillis, int retry )
+    {
+        if ( retryBackoffMillis <= 0 )
+        {
+            return 0;
+        }
+        long limit = Math.max( retryBackoffMillis, MAX_RETRY_BACKOFF_MILLIS );
+        long delay = retryBackoffMillis;
+        for ( int i = 1; i < retry && delay < limit; i++ )
+        {
+            delay *= 2;
+        }
+        delay = Math.min( delay, limit );
+
+        long jitter = delay / 2;
+        return delay - jitter + ( jitter > 0 ? (long) ( JITTER.nextDouble() * ( jitter + 1 ) ) : 0 );
+    }
+
+    private static void logTiming( Artifact artifact, long millis )
+    {
+        File file = artifact.getFile();
+        long length = file != null ? file.length() : 0;
+        StringBuilder message = new StringBuilder( "Deployed " ).append( artifact.getId() );
+        message.append( " (" ).append( length ).append( " bytes) in " ).append( millis ).append( " ms" );
+        if ( millis > 0 )
+        {
+            message.append( " at " ).append( length * 1000L / 1024L / millis ).append( " KiB/s" );
+        }
+        LOGGER.info( message.toString() );
+    }
 }
@@ -30,6 +30,12 @@ public class ProjectInstallerRequest
 
     private boolean createChecksum;
 
+    private boolean createSha256Checksum;
+
+    private boolean createSha512Checksum;
+
+    private int checksumThreadCount = 1;
+
     private boolean updateReleaseInfo;
 
     // From InstallMojo
@@ -54,6 +60,69 @@ public class ProjectInstallerRequest
         return this;
     }
 
+    /**
+     * @return the createSha256Checksum
+     */
+    public boolean isCreateSha256Checksum()
+    {
+        return createSha256Checksum;
+    }
+
+    /**
+     * Whether a SHA-256 checksum is created in addition to the MD5 and SHA-1 ones. Only used if
+     * {@link #isCreateChecksum()} is set.
+     *
+     * @param theCreateSha256ChecksumToBeSet the createSha256Checksum to set
+     * @return {@link ProjectInstallerRequest} for chaining.
+     */
+    public ProjectInstallerRequest setCreateSha256Checksum( boolean theCreateSha256ChecksumToBeSet )
+    {
+        this.createSha256Checksum = theCreateSha256ChecksumToBeSet;
+        return this;
+    }
+
+    /**
+     * @return the createSha512Checksum
+     */
+    public boolean isCreateSha512Checksum()
+    {
+        return createSha512Checksum;
+    }
+
+    /**
+     * Whether a SHA-512 checksum is created in addition to the MD5 and SHA-1 ones. Only used if
+     * {@link #isCreateChecksum()} is set.
+     *
+     * @param theCreateSha512ChecksumToBeSet the createSha512Checksum to set
+     * @return {@link ProjectInstallerRequest} for chaining.
+     */
+    public ProjectInstallerRequest setCreateSha512Checksum( boolean theCreateSha512ChecksumToBeSet )
+    {
+        this.createSha512Checksum = theCreateSha512ChecksumToBeSet;
+        return this;
+    }
+
+    /**
+     * @return the checksumThreadCount
+     */
+    public int getChecksumThreadCount()
+    {
+        return checksumThreadCount;
+    }
+
+    /**
+     * The number of threads used to calculate the checksums of the installed files. The default is <code>1</code>,
+     * calculating the checksums one file after another.
+     *
+     * @param theChecksumThreadCountToBeSet the checksumThreadCount to set
+     * @return {@link ProjectInstallerRequest} for chaining.
+     */
+    public ProjectInstallerRequest setChecksumThreadCount( int theChecksumThreadCountToBeSet )
+    {
+        this.checksumThreadCount = theChecksumThreadCountToBeSet;
+        return this;
+    }
+
     /**
      * @return the updateReleaseInfo
      */
@@ -0,0 +1,140 @@
+package org.apache.maven.shared.project.install.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.codec.binary.Hex;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Calculates the digests of several algorithms in one pass over a file. This class is thread-safe: the digests are
+ * created per calculation and each calculation reads through its own buffer, so a single instance can be shared by
+ * concurrent installations.
+ */
+class ChecksumCalculator
+{
+    /**
+     * The supported checksum algorithms, with the extension of their checksum files.
+     */
+    enum Algorithm
+    {
+        MD5( "MD5", ".md5" ), SHA1( "SHA-1", ".sha1" ), SHA256( "SHA-256", ".sha256" ), SHA512( "SHA-512", ".sha512" );
+
+        private final String algorithmName;
+
+        private final String extension;
+
+        Algorithm( String algorithmName, String extension )
+        {
+            this.algorithmName = algorithmName;
+            this.extension = extension;
+        }
+
+        /**
+         * @return The file extension (including the leading dot) of the checksum file.
+         */
+        public String getExtension()
+        {
+            return extension;
+        }
+
+        MessageDigest newDigest()
+        {
+            try
+            {
+                return MessageDigest.getInstance( algorithmName );
+            }
+            catch ( NoSuchAlgorithmException e )
+            {
+                throw new RuntimeException( "Unable to initialize digest " + algorithmName + " : " + e.getMessage() );
+            }
+        }
+    }
+
+    private static final int BUFSIZE = 65536 * 2;
+
+    /**
+     * @param file The file to calculate the checksums for, must not be <code>null</code>.
+     * @param algorithms The algorithms to use, must not be <code>null</code>.
+     * @return The hex encoded checksums by algorithm, in the order of the given algorithms.
+     * @throws IOException If the file could not be read.
+     */
+    public Map<Algorithm, String> calculate( File file, Collection<Algorithm> algorithms )
+        throws IOException
+    {
+        FileInputStream fis = null;
+
+        try
+        {
+            fis = new FileInputStream( file );
+            Map<Algorithm, String> checksums = calculate( fis, algorithms );
+            fis.close();
+            fis = null;
+            return checksums;
+        }
+        catch ( IOException e )
+        {
+            throw new IOException( "Failed to calculate digest checksum for " + file, e );
+        }
+        finally
+        {
+            IOUtil.close( fis );
+        }
+    }
+
+    Map<Algorithm, String> calculate( InputStream stream, Collection<Algorithm> algorithms )
+        throws IOException
+    {
+        MessageDigest[] digests = new MessageDigest[algorithms.size()];
+        int i = 0;
+        for ( Algorithm algorithm : algorithms )
+        {
+            digests[i++] = algorithm.newDigest();
+        }
+
+        byte[] buffer = new byte[BUFSIZE];
+        int size = stream.read( buffer, 0, BUFSIZE );
+        while ( size >= 0 )
+        {
+            for ( MessageDigest digest : digests )
+            {
+                digest.update( buffer, 0, size );
+            }
+            size = stream.read( buffer, 0, BUFSIZE );
+        }
+
+        Map<Algorithm, String> checksums = new LinkedHashMap<Algorithm, String>();
+        i = 0;
+        for ( Algorithm algorithm : algorithms )
+        {
+            checksums.put( algorithm, Hex.encodeHexString( digests[i++].digest() ) );
+        }
+        return checksums;
+    }
+}
@@ -21,10 +21,17 @@ package org.apache.maven.shared.project.install.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.metadata.ArtifactMetadata;
@@ -37,6 +44,7 @@ import org.apache.maven.shared.artifact.install.ArtifactInstallerException;
 import org.apache.maven.shared.project.NoFileAssignedException;
 import org.apache.maven.shared.project.install.ProjectInstaller;
 import org.apache.maven.shared.project.install.ProjectInstallerRequest;
+import org.apache.maven.shared.project.install.internal.ChecksumCalculator.Algorithm;
 import org.apache.maven.shared.repository.RepositoryManager;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -62,7 +70,7 @@ public class DefaultProjectInstaller
     @Requirement
     private RepositoryManager repositoryManager;
 
-    private final DualDigester digester = new DualDigester();
+    private final ChecksumCalculator checksumCalculator = new ChecksumCalculator();
 
     /**
      * {@inheritDoc}
@@ -92,15 +100,19 @@ public class DefaultProjectInstaller
             artifact.setRelease( true );
         }
 
+        // all artifacts are installed with a single request, so the local metadata is merged and written only once
+        List<Artifact> installableArtifacts = new ArrayList<Artifact>( attachedArtifacts.size() + 1 );
+
+        Collection<File> installedFiles = new LinkedHashSet<File>();
+
         Collection<File> metadataFiles = new LinkedHashSet<File>();
 
         if ( isPomArtifact )
         {
             if ( pomFile != null )
             {
-                installer.install( buildingRequest,
-                                   Collections.<Artifact>singletonList( new ProjectArtifact( project ) ) );
-                installChecksums( buildingRequest, artifact, createChecksum );
+                installableArtifacts.add( new ProjectArtifact( project ) );
+                addFileForArtifact( buildingRequest, artifact, installedFiles, createChecksum );
                 addMetaDataFilesForArtifact( buildingRequest, artifact, metadataFiles, createChecksum );
             }
         }
@@ -118,8 +130,8 @@ public class DefaultProjectInstaller
             // but not package). We are designing in a proper solution for Maven 2.1
             if ( file != null && file.isFile() )
             {
-                installer.install( buildingRequest, Collections.<Artifact>singletonList( artifact ) );
-                installChecksums( buildingRequest, artifact, createChecksum );
+                installableArtifacts.add( artifact );
+                addFileForArtifact( buildingRequest, artifact, installedFiles, createChecksum );
                 addMetaDataFilesForArtifact( buildingRequest, artifact, metadataFiles, createChecksum );
             }
             else if ( !attachedArtifacts.isEmpty() )
@@ -137,36 +149,56 @@ public class DefaultProjectInstaller
 
         for ( Artifact attached : attachedArtifacts )
         {
-            installer.install( buildingRequest, Collections.singletonList( attached ) );
-            installChecksums( buildingRequest, attached, createChecksum );
+            installableArtifacts.add( attached );
+            addFileForArtifact( buildingRequest, attached, installedFiles, createChecksum );
             addMetaDataFilesForArtifact( buildingRequest, attached, metadataFiles, createChecksum );
         }
 
-        installChecksums( metadataFiles );
+        if ( !installableArtifacts.isEmpty() )
+        {
+            installer.install( buildingRequest, installableArtifacts );
+        }
+
+        installedFiles.addAll( metadataFiles );
+        installChecksums( installedFiles, getChecksumAlgorithms( request ), request.getChecksumThreadCount() );
+    }
+
+    private Collection<Algorithm> getChecksumAlgorithms( ProjectInstallerRequest request )
+    {
+        Collection<Algorithm> algorithms = EnumSet.of( Algorithm.MD5, Algorithm.SHA1 );
+        if ( request.isCreateSha256Checksum() )
+        {
+            algorithms.add( Algorithm.SHA256 );
+        }
+        if ( request.isCreateSha512Checksum() )
+        {
+            algorithms.add( Algorithm.SHA512 );
+        }
+        return algorithms;
     }
 
     /**
-     * Installs the checksums for the specified artifact if this has been enabled in the plugin configuration. This
-     * method creates checksums for files that have already been installed to the local repo to account for on-the-fly
-     * generated/updated files. For example, in Maven 2.0.4- the <code>ProjectArtifactMetadata</code> did not install
-     * the original POM file (cf. MNG-2820). While the plugin currently requires Maven 2.0.6, we continue to hash the
-     * installed POM for robustness with regard to future changes like re-introducing some kind of POM filtering.
+     * Adds the installed file of the specified artifact to the files to create checksums for, if this has been enabled
+     * in the plugin configuration. The checksums are created for files that have already been installed to the local
+     * repo to account for on-the-fly generated/updated files. For example, in Maven 2.0.4- the
+     * <code>ProjectArtifactMetadata</code> did not install the original POM file (cf. MNG-2820). While the plugin
+     * currently requires Maven 2.0.6, we continue to hash the installed POM for robustness with regard to future
+     * changes like re-introducing some kind of POM filtering.
      *
      * @param buildingRequest The project building request, must not be <code>null</code>.
      * @param artifact The artifact for which to create checksums, must not be <code>null</code>.
+     * @param targetFiles The collection to add the installed file to, must not be <code>null</code>.
      * @param createChecksum {@code true} if checksum should be created, otherwise {@code false}.
-     * @throws IOException If the checksums could not be installed.
      */
-    private void installChecksums( ProjectBuildingRequest buildingRequest, Artifact artifact, boolean createChecksum )
-        throws IOException
+    private void addFileForArtifact( ProjectBuildingRequest buildingRequest, Artifact artifact,
+                                     Collection<File> targetFiles, boolean createChecksum )
     {
         if ( !createChecksum )
         {
             return;
         }
 
-        File artifactFile = getLocalRepoFile( buildingRequest, artifact );
-        installChecksums( artifactFile );
+        targetFiles.add( getLocalRepoFile( buildingRequest, artifact ) );
     }
 
     // CHECKSTYLE_OFF: LineLength
@@ -191,17 +223,73 @@ public class DefaultProjectInstaller
     }
 
     /**
-     * Installs the checksums for the specified metadata files.
+     * Installs the checksums for the specified files, using up to the given number of threads.
      *
-     * @param metadataFiles The collection of metadata files to install checksums for, must not be <code>null</code>.
+     * @param installedFiles The collection of files to install checksums for, must not be <code>null</code>.
+     * @param algorithms The checksum algorithms to use, must not be <code>null</code>.
+     * @param threadCount The maximum number of threads to use.
      * @throws IOException If the checksums could not be installed.
      */
-    private void installChecksums( Collection<File> metadataFiles )
+    private void installChecksums( Collection<File> installedFiles, final Collection<Algorithm> algorithms,
+                                   int threadCount )
         throws IOException
     {
-        for ( File metadataFile : metadataFiles )
+        if ( threadCount <= 1 || installedFiles.size() <= 1 )
+        {
+            for ( File installedFile : installedFiles )
+            {
+                installChecksums( installedFile, algorithms );
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( threadCount, installedFiles.size() ) );
+        try
         {
-            installChecksums( metadataFile );
+            List<Future<Void>> futures = new ArrayList<Future<Void>>( installedFiles.size() );
+            for ( final File installedFile : installedFiles )
+            {
+                futures.add( executor.submit( new Callable<Void>()
+                {
+                    @Override
+                    public Void call()
+                        throws IOException
+                    {
+                        installChecksums( installedFile, algorithms );
+                        return null;
+                    }
+                } ) );
+            }
+
+            for ( Future<Void> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IOException( "Interrupted while installing checksums", e );
+                }
+                catch ( ExecutionException e )
+                {
+                    Throwable cause = e.getCause();
+                    if ( cause instanceof IOException )
+                    {
+                        throw (IOException) cause;
+                    }
+                    if ( cause instanceof RuntimeException )
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IOException( "Failed to install checksums: " + cause.getMessage(), cause );
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
         }
     }
 
@@ -210,18 +298,21 @@ public class DefaultProjectInstaller
      *
      * @param installedFile The path to the already installed file in the local repo for which to generate checksums,
      *            must not be <code>null</code>.
+     * @param algorithms The checksum algorithms to use, must not be <code>null</code>.
      * @throws IOException In case of errors. Could not install checksums.
      */
-    private void installChecksums( File installedFile )
+    private void installChecksums( File installedFile, Collection<Algorithm> algorithms )
         throws IOException
     {
         boolean signatureFile = installedFile.getName().endsWith( ".asc" );
         if ( installedFile.isFile() && !signatureFile )
         {
             LOGGER.debug( "Calculating checksums for " + installedFile );
-            digester.calculate( installedFile );
-            installChecksum( installedFile, ".md5", digester.getMd5() );
-            installChecksum( installedFile, ".sha1", digester.getSha1() );
+            Map<Algorithm, String> checksums = checksumCalculator.calculate( installedFile, algorithms );
+            for ( Map.Entry<Algorithm, String> checksum : checksums.entrySet() )
+            {
+                installChecksum( installedFile, checksum.getKey().getExtension(), checksum.getValue() );
+            }
         }
     }
 
@@ -0,0 +1,182 @@
+package org.apache.maven.shared.artifact.resolve.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.shared.artifact.ArtifactCoordinate;
+import org.apache.maven.shared.artifact.DefaultArtifactCoordinate;
+import org.apache.maven.shared.artifact.resolve.ArtifactResolverException;
+import org.apache.maven.shared.artifact.resolve.ArtifactResult;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.repository.RemoteRepository;
+import org.sonatype.aether.resolution.ArtifactDescriptorRequest;
+import org.sonatype.aether.resolution.ArtifactDescriptorResult;
+import org.sonatype.aether.resolution.ArtifactRequest;
+import org.sonatype.aether.resolution.ArtifactResolutionException;
+
+public class Maven30ArtifactResolverTest
+{
+    private final List<String> descriptorReads = new ArrayList<String>();
+
+    private final List<List<String>> resolveCalls = new ArrayList<List<String>>();
+
+    private final Set<String> missing = new HashSet<String>();
+
+    private Maven30ArtifactResolver resolver;
+
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        resolver = new Maven30ArtifactResolver();
+
+        Field field = Maven30ArtifactResolver.class.getDeclaredField( "repositorySystem" );
+        field.setAccessible( true );
+        field.set( resolver, Proxy.newProxyInstance( getClass().getClassLoader(),
+                                                     new Class<?>[] { RepositorySystem.class },
+                                                     new RepositorySystemStub() ) );
+    }
+
+    @Test
+    public void resolveArtifactsShouldKeepOrderOfCoordinates()
+        throws Exception
+    {
+        List<ArtifactResult> results =
+            resolver.resolveArtifacts( null, Collections.<RemoteRepository>emptyList(),
+                                       Arrays.asList( coordinate( "c" ), coordinate( "a" ), coordinate( "b" ) ) );
+
+        assertEquals( Arrays.asList( "c", "a", "b" ), descriptorReads );
+        assertEquals( 1, resolveCalls.size() );
+        assertEquals( Arrays.asList( "c", "a", "b" ), resolveCalls.get( 0 ) );
+
+        assertEquals( 3, results.size() );
+        assertEquals( "c", results.get( 0 ).getArtifact().getArtifactId() );
+        assertEquals( "a", results.get( 1 ).getArtifact().getArtifactId() );
+        assertEquals( "b", results.get( 2 ).getArtifact().getArtifactId() );
+        assertTrue( results.get( 0 ).getArtifact().getFile().getPath().endsWith( "c-1.0.jar" ) );
+    }
+
+    @Test
+    public void resolveArtifactsShouldFailIfSomeCoordinatesDoNotResolve()
+        throws Exception
+    {
+        missing.add( "b" );
+
+        try
+        {
+            resolver.resolveArtifacts( null, Collections.<RemoteRepository>emptyList(),
+                                       Arrays.asList( coordinate( "a" ), coordinate( "b" ), coordinate( "c" ) ) );
+            fail( "Resolution should fail" );
+        }
+        catch ( ArtifactResolverException e )
+        {
+            assertTrue( e.getCause() instanceof ArtifactResolutionException );
+            List<org.sonatype.aether.resolution.ArtifactResult> aetherResults =
+                ( (ArtifactResolutionException) e.getCause() ).getResults();
+            assertEquals( 3, aetherResults.size() );
+            assertTrue( aetherResults.get( 0 ).isResolved() );
+            assertTrue( !aetherResults.get( 1 ).isResolved() );
+            assertTrue( aetherResults.get( 2 ).isResolved() );
+        }
+        // all coordinates are still resolved with one request
+        assertEquals( 1, resolveCalls.size() );
+    }
+
+    private static ArtifactCoordinate coordinate( String artifactId )
+    {
+        DefaultArtifactCoordinate coordinate = new DefaultArtifactCoordinate();
+        coordinate.setGroupId( "g" );
+        coordinate.setArtifactId( artifactId );
+        coordinate.setVersion( "1.0" );
+        coordinate.setExtension( "jar" );
+        return coordinate;
+    }
+
+    /**
+     * Reads every descriptor as is and resolves all artifacts except the missing ones.
+     */
+    private class RepositorySystemStub
+        implements InvocationHandler
+    {
+        public Object invoke( Object proxy, Method method, Object[] args )
+            throws Throwable
+        {
+            if ( "readArtifactDescriptor".equals( method.getName() ) )
+            {
+                ArtifactDescriptorRequest request = (ArtifactDescriptorRequest) args[1];
+                descriptorReads.add( request.getArtifact().getArtifactId() );
+                ArtifactDescriptorResult result = new ArtifactDescriptorResult( request );
+                result.setArtifact( request.getArtifact() );
+                return result;
+            }
+            if ( "resolveArtifacts".equals( method.getName() ) )
+            {
+                @SuppressWarnings( "unchecked" )
+                Collection<ArtifactRequest> requests = (Collection<ArtifactRequest>) args[1];
+                List<String> artifactIds = new ArrayList<String>();
+                List<org.sonatype.aether.resolution.ArtifactResult> results =
+                    new ArrayList<org.sonatype.aether.resolution.ArtifactResult>();
+                boolean failed = false;
+                for ( ArtifactRequest request : requests )
+                {
+                    String artifactId = request.getArtifact().getArtifactId();
+                    artifactIds.add( artifactId );
+                    org.sonatype.aether.resolution.ArtifactResult result =
+                        new org.sonatype.aether.resolution.ArtifactResult( request );
+                    if ( missing.contains( artifactId ) )
+                    {
+                        result.addException( new IllegalStateException( "Could not find " + artifactId ) );
+                        failed = true;
+                    }
+                    else
+                    {
+                        result.setArtifact( request.getArtifact().setFile( new File( artifactId + "-1.0.jar" ) ) );
+                    }
+                    results.add( result );
+                }
+                resolveCalls.add( artifactIds );
+                if ( failed )
+                {
+                    throw new ArtifactResolutionException( results );
+                }
+                return results;
+            }
+            throw new UnsupportedOperationException( method.getName() );
+        }
+    }
+}
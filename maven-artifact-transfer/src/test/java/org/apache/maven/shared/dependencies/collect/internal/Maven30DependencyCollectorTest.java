@@ -0,0 +1,180 @@
+package org.apache.maven.shared.dependencies.collect.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.repository.internal.MavenRepositorySystemSession;
+import org.apache.maven.shared.dependencies.DefaultDependableCoordinate;
+import org.apache.maven.shared.dependencies.collect.CollectorResult;
+import org.apache.maven.shared.dependencies.collect.DependencyCollector;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.collection.CollectRequest;
+import org.sonatype.aether.collection.CollectResult;
+import org.sonatype.aether.repository.Authentication;
+import org.sonatype.aether.repository.RemoteRepository;
+import org.sonatype.aether.util.graph.DefaultDependencyNode;
+
+public class Maven30DependencyCollectorTest
+{
+    private final AtomicInteger collections = new AtomicInteger();
+
+    private Maven30DependencyCollector collector;
+
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        collector = new Maven30DependencyCollector();
+
+        inject( "repositorySystem", newProxy( RepositorySystem.class, new InvocationHandler()
+        {
+            public Object invoke( Object proxy, Method method, Object[] args )
+            {
+                return collect( (CollectRequest) args[1] );
+            }
+        } ) );
+        inject( "artifactHandlerManager", newProxy( ArtifactHandlerManager.class, new InvocationHandler()
+        {
+            public Object invoke( Object proxy, Method method, Object[] args )
+            {
+                return new DefaultArtifactHandler( "jar" );
+            }
+        } ) );
+    }
+
+    @Test
+    public void cachingShouldBeDisabledByDefault()
+        throws Exception
+    {
+        ProjectBuildingRequest buildingRequest = newBuildingRequest( false );
+
+        collector.collectDependencies( buildingRequest, coordinate( "a" ) );
+        collector.collectDependencies( buildingRequest, coordinate( "a" ) );
+
+        assertEquals( 2, collections.get() );
+    }
+
+    @Test
+    public void equalRequestsShouldBeCollectedOnce()
+        throws Exception
+    {
+        ProjectBuildingRequest buildingRequest = newBuildingRequest( true );
+
+        CollectorResult first = collector.collectDependencies( buildingRequest, coordinate( "a" ) );
+        CollectorResult second = collector.collectDependencies( buildingRequest, coordinate( "a" ) );
+
+        assertEquals( 1, collections.get() );
+        assertSame( first, second );
+    }
+
+    @Test
+    public void differentRequestsShouldBeCollectedEach()
+        throws Exception
+    {
+        ProjectBuildingRequest buildingRequest = newBuildingRequest( true );
+
+        collector.collectDependencies( buildingRequest, coordinate( "a" ) );
+        collector.collectDependencies( buildingRequest, coordinate( "b" ) );
+
+        assertEquals( 2, collections.get() );
+    }
+
+    @Test
+    public void sessionsShouldNotShareResults()
+        throws Exception
+    {
+        collector.collectDependencies( newBuildingRequest( true ), coordinate( "a" ) );
+        collector.collectDependencies( newBuildingRequest( true ), coordinate( "a" ) );
+
+        assertEquals( 2, collections.get() );
+    }
+
+    @Test
+    public void keyShouldIncludeAuthentication()
+    {
+        RemoteRepository anonymous = new RemoteRepository( "central", "default", "https://repo.example.org/" );
+        RemoteRepository authenticated = new RemoteRepository( anonymous );
+        authenticated.setAuthentication( new Authentication( "user", "password" ) );
+
+        assertFalse( CollectorResultCache.newKey( null, Collections.emptyList(), Collections.emptyList(),
+                                                  Collections.singletonList( anonymous ) )
+            .equals( CollectorResultCache.newKey( null, Collections.emptyList(), Collections.emptyList(),
+                                                  Collections.singletonList( authenticated ) ) ) );
+    }
+
+    private CollectResult collect( CollectRequest request )
+    {
+        collections.incrementAndGet();
+        CollectResult result = new CollectResult( request );
+        result.setRoot( new DefaultDependencyNode( request.getRoot() ) );
+        return result;
+    }
+
+    private Object newProxy( Class<?> type, InvocationHandler handler )
+    {
+        return Proxy.newProxyInstance( getClass().getClassLoader(), new Class<?>[] { type }, handler );
+    }
+
+    private void inject( String name, Object value )
+        throws Exception
+    {
+        Field field = Maven30DependencyCollector.class.getDeclaredField( name );
+        field.setAccessible( true );
+        field.set( collector, value );
+    }
+
+    private static ProjectBuildingRequest newBuildingRequest( boolean cache )
+    {
+        MavenRepositorySystemSession session = new MavenRepositorySystemSession();
+        if ( cache )
+        {
+            session.setConfigProperty( DependencyCollector.CACHE_CONFIG_PROPERTY, "true" );
+        }
+        DefaultProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest();
+        buildingRequest.setRepositorySession( session );
+        return buildingRequest;
+    }
+
+    private static DefaultDependableCoordinate coordinate( String artifactId )
+    {
+        DefaultDependableCoordinate coordinate = new DefaultDependableCoordinate();
+        coordinate.setGroupId( "g" );
+        coordinate.setArtifactId( artifactId );
+        coordinate.setVersion( "1.0" );
+        coordinate.setType( "jar" );
+        return coordinate;
+    }
+}
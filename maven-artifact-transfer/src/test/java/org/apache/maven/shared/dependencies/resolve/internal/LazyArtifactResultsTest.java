@@ -0,0 +1,88 @@
+package org.apache.maven.shared.dependencies.resolve.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.shared.artifact.resolve.ArtifactResult;
+import org.junit.Test;
+
+public class LazyArtifactResultsTest
+{
+    private final AtomicInteger conversions = new AtomicInteger();
+
+    private final LazyArtifactResults<String> results =
+        new LazyArtifactResults<String>( Arrays.asList( "a", "b", "c" ) )
+        {
+            @Override
+            protected ArtifactResult convert( String result )
+            {
+                conversions.incrementAndGet();
+                return new ArtifactResult()
+                {
+                    public Artifact getArtifact()
+                    {
+                        return null;
+                    }
+                };
+            }
+        };
+
+    @Test
+    public void sizeShouldNotConvertAnything()
+    {
+        assertEquals( 3, results.size() );
+        assertEquals( 0, conversions.get() );
+    }
+
+    @Test
+    public void iteratingTwiceShouldConvertEachResultOnce()
+    {
+        List<ArtifactResult> first = new ArrayList<ArtifactResult>();
+        for ( ArtifactResult result : results )
+        {
+            first.add( result );
+        }
+        assertEquals( 3, conversions.get() );
+
+        int i = 0;
+        for ( ArtifactResult result : results )
+        {
+            assertSame( first.get( i++ ), result );
+        }
+        assertEquals( 3, i );
+        assertEquals( 3, conversions.get() );
+    }
+
+    @Test
+    public void accessShouldOnlyConvertTheAccessedResult()
+    {
+        results.get( 1 );
+        results.get( 1 );
+        assertEquals( 1, conversions.get() );
+    }
+}
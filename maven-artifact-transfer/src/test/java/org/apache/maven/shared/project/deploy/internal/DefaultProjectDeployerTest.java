@@ -0,0 +1,340 @@
+package org.apache.maven.shared.project.deploy.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.metadata.ArtifactMetadata;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.artifact.ProjectArtifactMetadata;
+import org.apache.maven.shared.artifact.deploy.ArtifactDeployer;
+import org.apache.maven.shared.artifact.deploy.ArtifactDeployerException;
+import org.apache.maven.shared.project.deploy.DeploymentInterruptedException;
+import org.apache.maven.shared.project.deploy.ProjectDeployerRequest;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultProjectDeployerTest
+{
+    private final File artifactsDirectory = new File( "target/tests/deploy-artifacts" );
+
+    private final File repositoryDirectory = new File( "target/tests/deploy-repo" );
+
+    private RecordingArtifactDeployer artifactDeployer;
+
+    private DefaultProjectDeployer projectDeployer;
+
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        artifactDeployer = new RecordingArtifactDeployer();
+        projectDeployer = new DefaultProjectDeployer();
+
+        Field field = DefaultProjectDeployer.class.getDeclaredField( "deployer" );
+        field.setAccessible( true );
+        field.set( projectDeployer, artifactDeployer );
+
+        artifactsDirectory.mkdirs();
+        FileUtils.deleteDirectory( repositoryDirectory );
+        repositoryDirectory.mkdirs();
+    }
+
+    @Test
+    public void retryShouldRedeployAllArtifactsByDefault()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0" );
+        artifactDeployer.failures.put( "CLASSIFIER", 1 );
+
+        ProjectDeployerRequest request =
+            new ProjectDeployerRequest().setProject( project ).setRetryFailedDeploymentCount( 2 );
+        projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+
+        assertEquals( 2, artifactDeployer.calls.size() );
+        assertEquals( 2, artifactDeployer.calls.get( 1 ).size() );
+    }
+
+    @Test
+    public void retryShouldOnlyRedeployFailedArtifacts()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0" );
+        artifactDeployer.failures.put( "CLASSIFIER", 2 );
+
+        ProjectDeployerRequest request = new ProjectDeployerRequest().setProject( project )
+            .setRetryFailedDeploymentCount( 3 ).setRetryFailedArtifactsOnly( true ).setRetryBackoffMillis( 1 );
+        projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+
+        // main artifact once, the attachment three times
+        assertEquals( 4, artifactDeployer.calls.size() );
+        for ( List<Artifact> call : artifactDeployer.calls )
+        {
+            assertEquals( 1, call.size() );
+        }
+        assertEquals( null, artifactDeployer.calls.get( 0 ).get( 0 ).getClassifier() );
+        for ( int i = 1; i < 4; i++ )
+        {
+            assertEquals( "CLASSIFIER", artifactDeployer.calls.get( i ).get( 0 ).getClassifier() );
+        }
+    }
+
+    @Test
+    public void retryShouldFailWhenArtifactKeepsFailing()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0" );
+        artifactDeployer.failures.put( "CLASSIFIER", 5 );
+
+        ProjectDeployerRequest request = new ProjectDeployerRequest().setProject( project )
+            .setRetryFailedDeploymentCount( 2 ).setRetryFailedArtifactsOnly( true ).setRetryBackoffMillis( 1 );
+        try
+        {
+            projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+            fail( "Deployment should fail" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            assertTrue( e.getCause() instanceof ArtifactDeployerException );
+        }
+        assertEquals( 3, artifactDeployer.calls.size() );
+    }
+
+    @Test
+    public void interruptDuringRetryShouldNotBeReportedAsDeploymentFailure()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0" );
+        artifactDeployer.failures.put( "CLASSIFIER", 1 );
+
+        ProjectDeployerRequest request = new ProjectDeployerRequest().setProject( project )
+            .setRetryFailedDeploymentCount( 2 ).setRetryFailedArtifactsOnly( true ).setRetryBackoffMillis( 60000 );
+        Thread.currentThread().interrupt();
+        try
+        {
+            projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+            fail( "Deployment should be interrupted" );
+        }
+        catch ( DeploymentInterruptedException e )
+        {
+            assertTrue( e.getCause() instanceof InterruptedException );
+        }
+        finally
+        {
+            assertTrue( "interrupt status should be restored", Thread.interrupted() );
+        }
+        assertEquals( 2, artifactDeployer.calls.size() );
+    }
+
+    @Test
+    public void snapshotsShouldBeDeployedAsWhole()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0-SNAPSHOT" );
+
+        ProjectDeployerRequest request = new ProjectDeployerRequest().setProject( project )
+            .setRetryFailedArtifactsOnly( true );
+        projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+
+        assertEquals( 1, artifactDeployer.calls.size() );
+        assertEquals( 2, artifactDeployer.calls.get( 0 ).size() );
+    }
+
+    @Test
+    public void retryDelayShouldGrowExponentiallyWithJitter()
+    {
+        for ( int retry = 1; retry <= 10; retry++ )
+        {
+            long delay = DefaultProjectDeployer.getRetryDelay( 1000, retry );
+            long expected = Math.min( 1000L << ( retry - 1 ), 60000L );
+            assertTrue( "retry " + retry + ": " + delay, delay >= expected / 2 && delay <= expected );
+        }
+        assertEquals( 0, DefaultProjectDeployer.getRetryDelay( 0, 3 ) );
+    }
+
+    @Test
+    public void individualDeploymentShouldPublishPomBeforeMetadataListsVersion()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0", "A", "B", "C" );
+        artifactDeployer.failures.put( "B", 1 );
+
+        ProjectDeployerRequest request = new ProjectDeployerRequest().setProject( project )
+            .setRetryFailedDeploymentCount( 2 ).setRetryFailedArtifactsOnly( true ).setRetryBackoffMillis( 1 );
+        projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+
+        // main artifact with the POM, A, B, C and B again
+        assertEquals( 5, artifactDeployer.calls.size() );
+        assertEquals( null, artifactDeployer.calls.get( 0 ).get( 0 ).getClassifier() );
+        assertEquals( "B", artifactDeployer.calls.get( 4 ).get( 0 ).getClassifier() );
+        assertFalse( "metadata lists the version before the POM", artifactDeployer.versionListedBeforePom );
+        assertTrue( artifactDeployer.versions.contains( "1.0" ) );
+        assertTrue( new File( repositoryDirectory, "ARTIFACTID-1.0.pom" ).exists() );
+    }
+
+    @Test
+    public void individualDeploymentShouldRetryPomBeforeDeployingAttachments()
+        throws Exception
+    {
+        MavenProject project = createProject( "1.0", "A", "B" );
+        artifactDeployer.failures.put( null, 1 );
+
+        ProjectDeployerRequest request = new ProjectDeployerRequest().setProject( project )
+            .setRetryFailedDeploymentCount( 2 ).setRetryFailedArtifactsOnly( true ).setRetryBackoffMillis( 1 );
+        projectDeployer.deploy( new DefaultProjectBuildingRequest(), request, null );
+
+        // the failed main artifact stops the first pass, the second one deploys all of them
+        assertEquals( 4, artifactDeployer.calls.size() );
+        assertEquals( null, artifactDeployer.calls.get( 0 ).get( 0 ).getClassifier() );
+        assertEquals( null, artifactDeployer.calls.get( 1 ).get( 0 ).getClassifier() );
+        assertFalse( "metadata lists the version before the POM", artifactDeployer.versionListedBeforePom );
+        assertTrue( artifactDeployer.versions.contains( "1.0" ) );
+    }
+
+    private MavenProject createProject( String version )
+        throws Exception
+    {
+        return createProject( version, "CLASSIFIER" );
+    }
+
+    private MavenProject createProject( String version, String... classifiers )
+        throws Exception
+    {
+        DefaultArtifactHandler artifactHandler = new DefaultArtifactHandler( "jar" );
+
+        Artifact artifact =
+            new DefaultArtifact( "GROUPID", "ARTIFACTID", version, "compile", "jar", null, artifactHandler );
+        artifact.setFile( File.createTempFile( "test-deploy", ".jar", artifactsDirectory ) );
+
+        MavenProject project = new MavenProject();
+        project.setPackaging( "jar" );
+        project.setFile( File.createTempFile( "test-deploy", ".pom", artifactsDirectory ) );
+        project.setArtifact( artifact );
+
+        for ( String classifier : classifiers )
+        {
+            Artifact attachment =
+                new DefaultArtifact( "GROUPID", "ARTIFACTID", version, "compile", "jar", classifier, artifactHandler );
+            attachment.setFile( File.createTempFile( "test-deploy", ".jar", artifactsDirectory ) );
+            project.addAttachedArtifact( attachment );
+        }
+        return project;
+    }
+
+    /**
+     * Records every deploy call, fails for the configured classifiers, copies the other artifacts into a directory
+     * standing in for the remote repository and updates its metadata.
+     */
+    private class RecordingArtifactDeployer
+        implements ArtifactDeployer
+    {
+        private final List<List<Artifact>> calls = new ArrayList<List<Artifact>>();
+
+        private final Map<String, Integer> failures = new HashMap<String, Integer>();
+
+        private final Set<String> versions = new LinkedHashSet<String>();
+
+        private boolean versionListedBeforePom;
+
+        public void deploy( ProjectBuildingRequest request, Collection<Artifact> mavenArtifacts )
+            throws ArtifactDeployerException
+        {
+            deploy( request, null, mavenArtifacts );
+        }
+
+        public void deploy( ProjectBuildingRequest request, ArtifactRepository remoteRepository,
+                            Collection<Artifact> mavenArtifacts )
+            throws ArtifactDeployerException
+        {
+            calls.add( new ArrayList<Artifact>( mavenArtifacts ) );
+            for ( Artifact artifact : mavenArtifacts )
+            {
+                Integer remaining = failures.get( artifact.getClassifier() );
+                if ( remaining != null && remaining > 0 )
+                {
+                    failures.put( artifact.getClassifier(), remaining - 1 );
+                    throw new ArtifactDeployerException( "Failed to deploy " + artifact.getId(), null );
+                }
+
+                String name = artifact.getArtifactId() + '-' + artifact.getVersion()
+                    + ( artifact.hasClassifier() ? '-' + artifact.getClassifier() : "" ) + ".jar";
+                try
+                {
+                    FileUtils.copyFile( artifact.getFile(), new File( repositoryDirectory, name ) );
+                }
+                catch ( IOException e )
+                {
+                    throw new ArtifactDeployerException( e.getMessage(), e );
+                }
+                updateMetadata( artifact );
+            }
+        }
+
+        /**
+         * Models the repository system, which deploys the POM of an artifact and then updates the repository metadata
+         * listing the versions by downloading, merging and uploading it.
+         */
+        private void updateMetadata( Artifact artifact )
+            throws ArtifactDeployerException
+        {
+            try
+            {
+                File pom = new File( repositoryDirectory, artifact.getArtifactId() + '-' + artifact.getVersion()
+                    + ".pom" );
+                for ( ArtifactMetadata metadata : artifact.getMetadataList() )
+                {
+                    if ( metadata instanceof ProjectArtifactMetadata )
+                    {
+                        FileUtils.copyFile( ( (ProjectArtifactMetadata) metadata ).getFile(), pom );
+                    }
+                }
+                if ( versions.add( artifact.getVersion() ) && !pom.exists() )
+                {
+                    versionListedBeforePom = true;
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new ArtifactDeployerException( e.getMessage(), e );
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.apache.maven.shared.project.install.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.apache.maven.shared.project.install.internal.ChecksumCalculator.Algorithm;
+import org.junit.Test;
+
+public class ChecksumCalculatorTest
+{
+    @Test
+    public void calculateAllAlgorithmsInOnePass()
+        throws Exception
+    {
+        ChecksumCalculator calculator = new ChecksumCalculator();
+
+        Map<Algorithm, String> checksums = calculator.calculate( new ByteArrayInputStream( "abc".getBytes( "UTF-8" ) ),
+                                                                 EnumSet.allOf( Algorithm.class ) );
+
+        assertEquals( 4, checksums.size() );
+        assertEquals( "900150983cd24fb0d6963f7d28e17f72", checksums.get( Algorithm.MD5 ) );
+        assertEquals( "a9993e364706816aba3e25717850c26c9cd0d89d", checksums.get( Algorithm.SHA1 ) );
+        assertEquals( "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                      checksums.get( Algorithm.SHA256 ) );
+        assertEquals( "ddaf35a193617abacc417349ae20413112e6fa4e89a97ea20a9eeee64b55d39a"
+            + "2192992a274fc1a836ba3c23a3feebbd454d4423643ce80e2a9ac94fa54ca49f", checksums.get( Algorithm.SHA512 ) );
+    }
+}
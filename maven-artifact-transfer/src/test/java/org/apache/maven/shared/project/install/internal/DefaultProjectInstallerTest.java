@@ -0,0 +1,273 @@
+package org.apache.maven.shared.project.install.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.metadata.ArtifactMetadata;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.artifact.ProjectArtifactMetadata;
+import org.apache.maven.shared.artifact.ArtifactCoordinate;
+import org.apache.maven.shared.artifact.install.ArtifactInstaller;
+import org.apache.maven.shared.artifact.install.ArtifactInstallerException;
+import org.apache.maven.shared.project.install.ProjectInstallerRequest;
+import org.apache.maven.shared.repository.RepositoryManager;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultProjectInstallerTest
+{
+    private final File artifactsDirectory = new File( "target/tests/install-artifacts" );
+
+    private final File repositoryDirectory = new File( "target/tests/install-repo" );
+
+    private RecordingArtifactInstaller artifactInstaller;
+
+    private DefaultProjectInstaller projectInstaller;
+
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        artifactInstaller = new RecordingArtifactInstaller();
+        projectInstaller = new DefaultProjectInstaller();
+
+        setField( "installer", artifactInstaller );
+        setField( "repositoryManager", new DirectoryRepositoryManager() );
+
+        artifactsDirectory.mkdirs();
+        FileUtils.deleteDirectory( repositoryDirectory );
+        repositoryDirectory.mkdirs();
+    }
+
+    @Test
+    public void allArtifactsShouldBeInstalledWithSingleRequest()
+        throws Exception
+    {
+        MavenProject project = createProject( "A", "B" );
+
+        ProjectInstallerRequest request = new ProjectInstallerRequest().setProject( project );
+        projectInstaller.install( new DefaultProjectBuildingRequest(), request );
+
+        assertEquals( 1, artifactInstaller.calls.size() );
+        List<Artifact> installed = artifactInstaller.calls.get( 0 );
+        assertEquals( 3, installed.size() );
+        assertNull( installed.get( 0 ).getClassifier() );
+        assertEquals( "A", installed.get( 1 ).getClassifier() );
+        assertEquals( "B", installed.get( 2 ).getClassifier() );
+        assertTrue( "main artifact should carry the POM", hasPom( installed.get( 0 ) ) );
+        assertTrue( new File( repositoryDirectory, "ARTIFACTID-1.0.pom" ).exists() );
+        assertFalse( new File( repositoryDirectory, "ARTIFACTID-1.0.jar.md5" ).exists() );
+    }
+
+    @Test
+    public void checksumsShouldBeCreatedForInstalledFiles()
+        throws Exception
+    {
+        checksumsShouldBeCreatedForInstalledFiles( 1 );
+    }
+
+    @Test
+    public void checksumsShouldBeCreatedConcurrentlyForInstalledFiles()
+        throws Exception
+    {
+        checksumsShouldBeCreatedForInstalledFiles( 3 );
+    }
+
+    private void checksumsShouldBeCreatedForInstalledFiles( int checksumThreadCount )
+        throws Exception
+    {
+        MavenProject project = createProject( "A", "B" );
+
+        ProjectInstallerRequest request = new ProjectInstallerRequest().setProject( project ).setCreateChecksum( true )
+            .setCreateSha256Checksum( true ).setChecksumThreadCount( checksumThreadCount );
+        projectInstaller.install( new DefaultProjectBuildingRequest(), request );
+
+        assertEquals( 1, artifactInstaller.calls.size() );
+        String[] names = { "ARTIFACTID-1.0.jar", "ARTIFACTID-1.0-A.jar", "ARTIFACTID-1.0-B.jar", "ARTIFACTID-1.0.pom" };
+        for ( String name : names )
+        {
+            assertTrue( name, new File( repositoryDirectory, name ).isFile() );
+            for ( String extension : new String[] { ".md5", ".sha1", ".sha256" } )
+            {
+                assertTrue( name + extension, new File( repositoryDirectory, name + extension ).isFile() );
+            }
+            assertFalse( name + ".sha512", new File( repositoryDirectory, name + ".sha512" ).exists() );
+        }
+        // the checksums are calculated from the installed files, so the installer must have run first
+        assertEquals( "da39a3ee5e6b4b0d3255bfef95601890afd80709",
+                      FileUtils.fileRead( new File( repositoryDirectory, "ARTIFACTID-1.0.pom.sha1" ) ) );
+        assertFalse( "da39a3ee5e6b4b0d3255bfef95601890afd80709".equals(
+            FileUtils.fileRead( new File( repositoryDirectory, "ARTIFACTID-1.0-A.jar.sha1" ) ) ) );
+    }
+
+    private void setField( String name, Object value )
+        throws Exception
+    {
+        Field field = DefaultProjectInstaller.class.getDeclaredField( name );
+        field.setAccessible( true );
+        field.set( projectInstaller, value );
+    }
+
+    private MavenProject createProject( String... classifiers )
+        throws Exception
+    {
+        DefaultArtifactHandler artifactHandler = new DefaultArtifactHandler( "jar" );
+
+        Artifact artifact =
+            new DefaultArtifact( "GROUPID", "ARTIFACTID", "1.0", "compile", "jar", null, artifactHandler );
+        artifact.setFile( createFile( "main" ) );
+
+        MavenProject project = new MavenProject();
+        project.setPackaging( "jar" );
+        project.setFile( File.createTempFile( "test-install", ".pom", artifactsDirectory ) );
+        project.setArtifact( artifact );
+
+        for ( String classifier : classifiers )
+        {
+            Artifact attachment =
+                new DefaultArtifact( "GROUPID", "ARTIFACTID", "1.0", "compile", "jar", classifier, artifactHandler );
+            attachment.setFile( createFile( classifier ) );
+            project.addAttachedArtifact( attachment );
+        }
+        return project;
+    }
+
+    private File createFile( String content )
+        throws IOException
+    {
+        File file = File.createTempFile( "test-install", ".jar", artifactsDirectory );
+        FileUtils.fileWrite( file.getAbsolutePath(), "UTF-8", content );
+        return file;
+    }
+
+    private static boolean hasPom( Artifact artifact )
+    {
+        for ( ArtifactMetadata metadata : artifact.getMetadataList() )
+        {
+            if ( metadata instanceof ProjectArtifactMetadata )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getPath( Artifact artifact )
+    {
+        return artifact.getArtifactId() + '-' + artifact.getVersion()
+            + ( artifact.hasClassifier() ? '-' + artifact.getClassifier() : "" ) + ".jar";
+    }
+
+    private static String getPath( ArtifactMetadata metadata )
+    {
+        return metadata.getArtifactId() + '-' + metadata.getBaseVersion() + ".pom";
+    }
+
+    /**
+     * Records every install call and copies the artifacts and their POM into the local repository directory.
+     */
+    private class RecordingArtifactInstaller
+        implements ArtifactInstaller
+    {
+        private final List<List<Artifact>> calls = new ArrayList<List<Artifact>>();
+
+        public void install( ProjectBuildingRequest request, Collection<Artifact> mavenArtifacts )
+            throws ArtifactInstallerException
+        {
+            install( request, repositoryDirectory, mavenArtifacts );
+        }
+
+        public void install( ProjectBuildingRequest request, File localRepository,
+                             Collection<Artifact> mavenArtifacts )
+            throws ArtifactInstallerException
+        {
+            calls.add( new ArrayList<Artifact>( mavenArtifacts ) );
+            try
+            {
+                for ( Artifact artifact : mavenArtifacts )
+                {
+                    FileUtils.copyFile( artifact.getFile(), new File( localRepository, getPath( artifact ) ) );
+                    for ( ArtifactMetadata metadata : artifact.getMetadataList() )
+                    {
+                        if ( metadata instanceof ProjectArtifactMetadata )
+                        {
+                            FileUtils.copyFile( ( (ProjectArtifactMetadata) metadata ).getFile(),
+                                                new File( localRepository, getPath( metadata ) ) );
+                        }
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new ArtifactInstallerException( e.getMessage(), e );
+            }
+        }
+    }
+
+    /**
+     * Lays out the local repository as a flat directory.
+     */
+    private class DirectoryRepositoryManager
+        implements RepositoryManager
+    {
+        public String getPathForLocalArtifact( ProjectBuildingRequest buildingRequest, Artifact artifact )
+        {
+            return getPath( artifact );
+        }
+
+        public String getPathForLocalArtifact( ProjectBuildingRequest buildingRequest,
+                                               ArtifactCoordinate coordinate )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        public String getPathForLocalMetadata( ProjectBuildingRequest buildingRequest, ArtifactMetadata metadata )
+        {
+            return getPath( metadata );
+        }
+
+        public ProjectBuildingRequest setLocalRepositoryBasedir( ProjectBuildingRequest request, File basedir )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        public File getLocalRepositoryBasedir( ProjectBuildingRequest request )
+        {
+            return repositoryDirectory;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package org.apache.maven.shared.artifact.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * The patterns of a {@link PatternIncludesArtifactFilter}, split and compiled once into per-token matchers. Exact
+ * <code>groupId:artifactId</code> patterns are indexed in a hash map, so they don't need to be checked one by one.
+ * The matching rules are the ones of {@link PatternIncludesArtifactFilter}.
+ */
+final class ArtifactPatternMatcher
+{
+    private static final int NO_MATCH = 0;
+
+    private static final int MATCH = 1;
+
+    /**
+     * A 5 token pattern requiring a classifier never matches an id without classifier, and stops any further
+     * matching of that id.
+     */
+    private static final int ABORT = 2;
+
+    private final List<CompiledPattern> patterns;
+
+    private final List<CompiledPattern> nonExactPatterns;
+
+    private final Map<String, Map<String, Integer>> exactPatterns;
+
+    /**
+     * @param patterns The patterns, in the order they should be checked.
+     */
+    ArtifactPatternMatcher( List<String> patterns )
+    {
+        List<CompiledPattern> compiled = new ArrayList<CompiledPattern>( patterns.size() );
+        List<CompiledPattern> nonExact = new ArrayList<CompiledPattern>( patterns.size() );
+        Map<String, Map<String, Integer>> exact = new HashMap<String, Map<String, Integer>>();
+
+        for ( String pattern : patterns )
+        {
+            CompiledPattern compiledPattern = new CompiledPattern( pattern, compiled.size() );
+            compiled.add( compiledPattern );
+
+            if ( compiledPattern.isGroupIdArtifactId() )
+            {
+                Map<String, Integer> byArtifactId = exact.get( compiledPattern.rawTokens[0] );
+                if ( byArtifactId == null )
+                {
+                    byArtifactId = new HashMap<String, Integer>();
+                    exact.put( compiledPattern.rawTokens[0], byArtifactId );
+                }
+                if ( !byArtifactId.containsKey( compiledPattern.rawTokens[1] ) )
+                {
+                    byArtifactId.put( compiledPattern.rawTokens[1], compiledPattern.position );
+                }
+            }
+            else
+            {
+                nonExact.add( compiledPattern );
+            }
+        }
+
+        this.patterns = Collections.unmodifiableList( compiled );
+        this.nonExactPatterns = nonExact;
+        this.exactPatterns = exact;
+    }
+
+    /**
+     * @return <code>true</code> if there are no patterns.
+     */
+    boolean isEmpty()
+    {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * Matches an id against the patterns.
+     *
+     * @param value The id to match.
+     * @param tokens The id split at <code>':'</code>.
+     * @param regionMatch whether a pattern contained in the id also matches.
+     * @return The first pattern that matched or <code>null</code> if none matched.
+     */
+    String match( String value, String[] tokens, boolean regionMatch )
+    {
+        if ( regionMatch )
+        {
+            for ( CompiledPattern pattern : patterns )
+            {
+                int result = pattern.match( tokens );
+                if ( result == ABORT )
+                {
+                    return null;
+                }
+                if ( result == MATCH || value.contains( pattern.pattern ) )
+                {
+                    return pattern.pattern;
+                }
+            }
+            return null;
+        }
+
+        int exactPosition = Integer.MAX_VALUE;
+        if ( tokens.length >= 2 && !exactPatterns.isEmpty() )
+        {
+            Map<String, Integer> byArtifactId = exactPatterns.get( tokens[0] );
+            if ( byArtifactId != null )
+            {
+                Integer position = byArtifactId.get( tokens[1] );
+                if ( position != null )
+                {
+                    exactPosition = position;
+                }
+            }
+        }
+
+        // patterns before the exact match still take precedence
+        for ( CompiledPattern pattern : nonExactPatterns )
+        {
+            if ( pattern.position > exactPosition )
+            {
+                break;
+            }
+
+            int result = pattern.match( tokens );
+            if ( result == MATCH )
+            {
+                return pattern.pattern;
+            }
+            if ( result == ABORT )
+            {
+                return null;
+            }
+        }
+
+        return exactPosition != Integer.MAX_VALUE ? patterns.get( exactPosition ).pattern : null;
+    }
+
+    private static final class CompiledPattern
+    {
+        private final String pattern;
+
+        private final int position;
+
+        private final String[] rawTokens;
+
+        private final TokenMatcher[] tokens;
+
+        /**
+         * The tokens used against an id without classifier, if this is a 5 token pattern.
+         */
+        private final TokenMatcher[] tokensWithoutClassifier;
+
+        private final boolean classifierWildcard;
+
+        private final boolean firstWildcard;
+
+        CompiledPattern( String pattern, int position )
+        {
+            this.pattern = pattern;
+            this.position = position;
+            this.rawTokens = pattern.split( ":" );
+
+            tokens = new TokenMatcher[rawTokens.length];
+            for ( int i = 0; i < rawTokens.length; i++ )
+            {
+                tokens[i] = TokenMatcher.compile( rawTokens[i] );
+            }
+
+            if ( tokens.length == 5 )
+            {
+                // 4th element is the classifier
+                classifierWildcard = "*".equals( rawTokens[3] );
+                tokensWithoutClassifier = new TokenMatcher[] { tokens[0], tokens[1], tokens[2], tokens[4] };
+            }
+            else
+            {
+                classifierWildcard = false;
+                tokensWithoutClassifier = null;
+            }
+
+            firstWildcard = rawTokens.length > 0 && "*".equals( rawTokens[0] );
+        }
+
+        boolean isGroupIdArtifactId()
+        {
+            return tokens.length == 2 && tokens[0] instanceof ExactTokenMatcher
+                && tokens[1] instanceof ExactTokenMatcher;
+        }
+
+        int match( String[] valueTokens )
+        {
+            TokenMatcher[] patternTokens = tokens;
+
+            if ( tokensWithoutClassifier != null && valueTokens.length < 5 )
+            {
+                if ( !classifierWildcard )
+                {
+                    // classifier required, cannot be a match
+                    return ABORT;
+                }
+                patternTokens = tokensWithoutClassifier;
+            }
+
+            // fail immediately if pattern tokens outnumber tokens to match
+            boolean matched = patternTokens.length <= valueTokens.length;
+
+            for ( int i = 0; matched && i < patternTokens.length; i++ )
+            {
+                matched = patternTokens[i].matches( valueTokens[i] );
+            }
+
+            // case of starting '*' like '*:jar:*'
+            // This really only matches from the end instead.....
+            if ( !matched && patternTokens.length < valueTokens.length && firstWildcard )
+            {
+                matched = true;
+                int tokenOffset = valueTokens.length - patternTokens.length;
+                for ( int i = 0; matched && i < patternTokens.length; i++ )
+                {
+                    matched = patternTokens[i].matches( valueTokens[i + tokenOffset] );
+                }
+            }
+
+            return matched ? MATCH : NO_MATCH;
+        }
+    }
+
+    /**
+     * Matches a single token of an id against a pattern segment.
+     */
+    private abstract static class TokenMatcher
+    {
+        private static final TokenMatcher ANY = new TokenMatcher()
+        {
+            @Override
+            boolean matches( String token )
+            {
+                return true;
+            }
+        };
+
+        abstract boolean matches( String token );
+
+        static TokenMatcher compile( final String pattern )
+        {
+            // support full wildcard and implied wildcard
+            if ( "*".equals( pattern ) || pattern.length() == 0 )
+            {
+                return ANY;
+            }
+            // support contains wildcard
+            else if ( pattern.startsWith( "*" ) && pattern.endsWith( "*" ) )
+            {
+                final String contains = pattern.substring( 1, pattern.length() - 1 );
+                return new TokenMatcher()
+                {
+                    @Override
+                    boolean matches( String token )
+                    {
+                        return token.contains( contains );
+                    }
+                };
+            }
+            // support leading wildcard
+            else if ( pattern.startsWith( "*" ) )
+            {
+                final String suffix = pattern.substring( 1, pattern.length() );
+                return new TokenMatcher()
+                {
+                    @Override
+                    boolean matches( String token )
+                    {
+                        return token.endsWith( suffix );
+                    }
+                };
+            }
+            // support trailing wildcard
+            else if ( pattern.endsWith( "*" ) )
+            {
+                final String prefix = pattern.substring( 0, pattern.length() - 1 );
+                return new TokenMatcher()
+                {
+                    @Override
+                    boolean matches( String token )
+                    {
+                        return token.startsWith( prefix );
+                    }
+                };
+            }
+            // support wildcards in the middle of a pattern segment
+            else if ( pattern.indexOf( '*' ) > -1 )
+            {
+                final String[] parts = pattern.split( "\\*" );
+                return new TokenMatcher()
+                {
+                    @Override
+                    boolean matches( String token )
+                    {
+                        int lastPartEnd = -1;
+
+                        for ( String part : parts )
+                        {
+                            int idx = token.indexOf( part );
+                            if ( idx <= lastPartEnd )
+                            {
+                                return false;
+                            }
+
+                            lastPartEnd = idx + part.length();
+                        }
+
+                        return true;
+                    }
+                };
+            }
+            // support versions range
+            else if ( pattern.startsWith( "[" ) || pattern.startsWith( "(" ) )
+            {
+                final VersionRange range;
+                try
+                {
+                    range = VersionRange.createFromVersionSpec( pattern );
+                }
+                catch ( final InvalidVersionSpecificationException e )
+                {
+                    return new TokenMatcher()
+                    {
+                        @Override
+                        boolean matches( String token )
+                        {
+                            return false;
+                        }
+                    };
+                }
+                return new TokenMatcher()
+                {
+                    @Override
+                    boolean matches( String token )
+                    {
+                        return range.containsVersion( new DefaultArtifactVersion( token ) );
+                    }
+                };
+            }
+            // support exact match
+            else
+            {
+                return new ExactTokenMatcher( pattern );
+            }
+        }
+    }
+
+    private static final class ExactTokenMatcher
+        extends TokenMatcher
+    {
+        private final String pattern;
+
+        ExactTokenMatcher( String pattern )
+        {
+            this.pattern = pattern;
+        }
+
+        @Override
+        boolean matches( String token )
+        {
+            return token.equals( pattern );
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.apache.maven.shared.artifact.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The statistics of a {@link StatisticsReportingArtifactFilter}, which may be updated concurrently by several threads
+ * sharing the filter. Every criterion has its own counter, created upfront, so recording a hit never locks. Only a
+ * bounded sample of the filtered artifact ids is kept, together with the total number of filtered artifacts.
+ */
+final class FilterStatistics
+{
+    /**
+     * Statistics which don't record anything.
+     */
+    static final FilterStatistics DISABLED = new FilterStatistics( Collections.<String>emptyList(), 0, false );
+
+    private final List<String> criteria;
+
+    private final Map<String, AtomicLong> hits;
+
+    private final int maxFilteredArtifactIds;
+
+    private final boolean enabled;
+
+    private final AtomicInteger filteredCount = new AtomicInteger();
+
+    private final Queue<String> filteredArtifactIds = new ConcurrentLinkedQueue<String>();
+
+    /**
+     * @param criteria The criteria which are expected to be hit.
+     * @param maxFilteredArtifactIds The maximum number of filtered artifact ids kept, a negative value for no limit.
+     */
+    FilterStatistics( Collection<String> criteria, int maxFilteredArtifactIds )
+    {
+        this( criteria, maxFilteredArtifactIds, true );
+    }
+
+    private FilterStatistics( Collection<String> criteria, int maxFilteredArtifactIds, boolean enabled )
+    {
+        this.criteria = new ArrayList<String>( criteria );
+        this.hits = new HashMap<String, AtomicLong>();
+        for ( String criterion : criteria )
+        {
+            hits.put( criterion, new AtomicLong() );
+        }
+        this.maxFilteredArtifactIds = maxFilteredArtifactIds;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return <code>false</code> if nothing is recorded.
+     */
+    boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * @param criterion The criterion that was hit.
+     */
+    void hit( String criterion )
+    {
+        AtomicLong counter = hits.get( criterion );
+        if ( counter != null )
+        {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param criterion The criterion.
+     * @return The number of times the criterion was hit.
+     */
+    long getHitCount( String criterion )
+    {
+        AtomicLong counter = hits.get( criterion );
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * @return The criteria which were never hit, in their original order.
+     */
+    List<String> getMissedCriteria()
+    {
+        List<String> missed = new ArrayList<String>();
+        for ( String criterion : criteria )
+        {
+            if ( hits.get( criterion ).get() == 0 )
+            {
+                missed.add( criterion );
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * @param artifactId The id of the artifact which was filtered.
+     */
+    void filtered( String artifactId )
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+
+        int count = filteredCount.getAndIncrement();
+        if ( maxFilteredArtifactIds < 0 || count < maxFilteredArtifactIds )
+        {
+            filteredArtifactIds.add( artifactId );
+        }
+    }
+
+    /**
+     * @return The total number of filtered artifacts.
+     */
+    int getFilteredCount()
+    {
+        return filteredCount.get();
+    }
+
+    /**
+     * @return The sample of filtered artifact ids.
+     */
+    List<String> getFilteredArtifactIds()
+    {
+        return new ArrayList<String>( filteredArtifactIds );
+    }
+
+    /**
+     * Appends the sample of filtered artifact ids, one per line, and the number of filtered artifacts which are not
+     * part of the sample.
+     *
+     * @param buffer The buffer to append to.
+     */
+    void appendFilteredArtifactIds( StringBuilder buffer )
+    {
+        int sampled = 0;
+        for ( String artifactId : filteredArtifactIds )
+        {
+            buffer.append( '\n' ).append( artifactId );
+            sampled++;
+        }
+
+        int omitted = filteredCount.get() - sampled;
+        if ( omitted > 0 )
+        {
+            buffer.append( "\n(" ).append( omitted ).append( " more)" );
+        }
+    }
+}
@@ -49,12 +49,25 @@ public class PatternExcludesArtifactFilter
         super( patterns, actTransitively );
     }
 
+    /**
+     * @param patterns The pattern which will be used.
+     * @param actTransitively yes/no.
+     * @param collectStatistics whether triggered patterns and filtered artifacts are recorded for the reports.
+     * @param maxFilteredArtifactIds the maximum number of filtered artifact ids kept, or {@link #UNLIMITED}.
+     * @since 3.0.2
+     */
+    public PatternExcludesArtifactFilter( Collection<String> patterns, boolean actTransitively,
+                                          boolean collectStatistics, int maxFilteredArtifactIds )
+    {
+        super( patterns, actTransitively, collectStatistics, maxFilteredArtifactIds );
+    }
+
     /** {@inheritDoc} */
     public boolean include( Artifact artifact )
     {
         boolean shouldInclude = !patternMatches( artifact );
 
-        if ( !shouldInclude )
+        if ( !shouldInclude && isCollectingStatistics() )
         {
             addFilteredArtifactId( artifact.getId() );
         }
@@ -21,16 +21,11 @@ package org.apache.maven.shared.artifact.filter;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
-import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
-import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.plexus.logging.Logger;
 
 /**
@@ -42,15 +37,24 @@ import org.codehaus.plexus.logging.Logger;
 public class PatternIncludesArtifactFilter
     implements ArtifactFilter, StatisticsReportingArtifactFilter
 {
+    /**
+     * Value of <code>maxFilteredArtifactIds</code> to keep the ids of all filtered artifacts.
+     *
+     * @since 3.0.2
+     */
+    public static final int UNLIMITED = -1;
+
     private final List<String> positivePatterns;
 
     private final List<String> negativePatterns;
 
-    private final boolean actTransitively;
+    private final ArtifactPatternMatcher positiveMatcher;
+
+    private final ArtifactPatternMatcher negativeMatcher;
 
-    private final Set<String> patternsTriggered = new HashSet<String>();
+    private final boolean actTransitively;
 
-    private final List<String> filteredArtifactIds = new ArrayList<String>();
+    private final FilterStatistics statistics;
 
     /**
      * @param patterns The pattern to be used.
@@ -65,6 +69,23 @@ public class PatternIncludesArtifactFilter
      * @param actTransitively transitive yes/no.
      */
     public PatternIncludesArtifactFilter( final Collection<String> patterns, final boolean actTransitively )
+    {
+        this( patterns, actTransitively, true, UNLIMITED );
+    }
+
+    /**
+     * Creates a filter which can be shared by concurrent threads, with the given statistics settings. Disabling the
+     * statistics saves their bookkeeping on hot paths, nothing will be reported then.
+     *
+     * @param patterns The pattern to be used.
+     * @param actTransitively transitive yes/no.
+     * @param collectStatistics whether triggered patterns and filtered artifacts are recorded for the reports.
+     * @param maxFilteredArtifactIds the maximum number of filtered artifact ids kept for
+     *            {@link #reportFilteredArtifacts(Logger)}, or {@link #UNLIMITED} to keep all of them.
+     * @since 3.0.2
+     */
+    public PatternIncludesArtifactFilter( final Collection<String> patterns, final boolean actTransitively,
+                                          final boolean collectStatistics, final int maxFilteredArtifactIds )
     {
         this.actTransitively = actTransitively;
         final List<String> pos = new ArrayList<String>();
@@ -86,6 +107,19 @@ public class PatternIncludesArtifactFilter
 
         positivePatterns = pos;
         negativePatterns = neg;
+        positiveMatcher = new ArtifactPatternMatcher( pos );
+        negativeMatcher = new ArtifactPatternMatcher( neg );
+
+        if ( collectStatistics )
+        {
+            final List<String> criteria = new ArrayList<String>( pos );
+            criteria.addAll( neg );
+            statistics = new FilterStatistics( criteria, maxFilteredArtifactIds );
+        }
+        else
+        {
+            statistics = FilterStatistics.DISABLED;
+        }
     }
 
     /** {@inheritDoc} */
@@ -93,7 +127,7 @@ public class PatternIncludesArtifactFilter
     {
         final boolean shouldInclude = patternMatches( artifact );
 
-        if ( !shouldInclude )
+        if ( !shouldInclude && isCollectingStatistics() )
         {
             addFilteredArtifactId( artifact.getId() );
         }
@@ -107,7 +141,13 @@ public class PatternIncludesArtifactFilter
      */
     protected boolean patternMatches( final Artifact artifact )
     {
-        return positiveMatch( artifact ) == Boolean.TRUE || negativeMatch( artifact ) == Boolean.FALSE;
+        if ( positiveMatcher.isEmpty() && negativeMatcher.isEmpty() )
+        {
+            return false;
+        }
+
+        final ArtifactIds ids = new ArtifactIds( artifact );
+        return positiveMatch( ids ) == Boolean.TRUE || negativeMatch( ids ) == Boolean.FALSE;
     }
 
     /**
@@ -115,18 +155,27 @@ public class PatternIncludesArtifactFilter
      */
     protected void addFilteredArtifactId( final String artifactId )
     {
-        filteredArtifactIds.add( artifactId );
+        statistics.filtered( artifactId );
     }
 
-    private Boolean negativeMatch( final Artifact artifact )
+    /**
+     * @return <code>true</code> if triggered patterns and filtered artifacts are recorded.
+     * @since 3.0.2
+     */
+    protected boolean isCollectingStatistics()
+    {
+        return statistics.isEnabled();
+    }
+
+    private Boolean negativeMatch( final ArtifactIds ids )
     {
-        if ( negativePatterns == null || negativePatterns.isEmpty() )
+        if ( negativeMatcher.isEmpty() )
         {
             return null;
         }
         else
         {
-            return match( artifact, negativePatterns );
+            return match( ids, negativeMatcher );
         }
     }
 
@@ -136,46 +185,54 @@ public class PatternIncludesArtifactFilter
      */
     protected Boolean positiveMatch( final Artifact artifact )
     {
-        if ( positivePatterns == null || positivePatterns.isEmpty() )
+        if ( positiveMatcher.isEmpty() )
         {
             return null;
         }
         else
         {
-            return match( artifact, positivePatterns );
+            return positiveMatch( new ArtifactIds( artifact ) );
         }
     }
 
-    private boolean match( final Artifact artifact, final List<String> patterns )
+    private Boolean positiveMatch( final ArtifactIds ids )
     {
-        final String shortId = ArtifactUtils.versionlessKey( artifact );
-        final String id = artifact.getDependencyConflictId();
-        final String wholeId = artifact.getId();
+        if ( positiveMatcher.isEmpty() )
+        {
+            return null;
+        }
+        else
+        {
+            return match( ids, positiveMatcher );
+        }
+    }
 
-        if ( matchAgainst( wholeId, patterns, false ) )
+    private boolean match( final ArtifactIds ids, final ArtifactPatternMatcher matcher )
+    {
+        if ( matchAgainst( ids.wholeId, ids.wholeIdTokens, matcher, false ) )
         {
             return true;
         }
 
-        if ( matchAgainst( id, patterns, false ) )
+        if ( matchAgainst( ids.id, ids.idTokens, matcher, false ) )
         {
             return true;
         }
 
-        if ( matchAgainst( shortId, patterns, false ) )
+        if ( matchAgainst( ids.shortId, ids.shortIdTokens, matcher, false ) )
         {
             return true;
         }
 
         if ( actTransitively )
         {
-            final List<String> depTrail = artifact.getDependencyTrail();
+            final List<String> depTrail = ids.artifact.getDependencyTrail();
 
             if ( depTrail != null && depTrail.size() > 1 )
             {
                 for ( String trailItem : depTrail )
                 {
-                    if ( matchAgainst( trailItem, patterns, true ) )
+                    if ( matchAgainst( trailItem, trailItem.split( ":" ), matcher, true ) )
                     {
                         return true;
                     }
@@ -186,147 +243,46 @@ public class PatternIncludesArtifactFilter
         return false;
     }
 
-    private boolean matchAgainst( final String value, final List<String> patterns, final boolean regionMatch )
+    private boolean matchAgainst( final String value, final String[] tokens, final ArtifactPatternMatcher matcher,
+                                  final boolean regionMatch )
     {
-        final String[] tokens = value.split( ":" );
-        for ( String pattern : patterns )
+        final String pattern = matcher.match( value, tokens, regionMatch );
+        if ( pattern != null )
         {
-            String[] patternTokens = pattern.split( ":" );
-            
-            if ( patternTokens.length == 5 && tokens.length < 5 )
-            {
-                // 4th element is the classifier
-                if ( !"*".equals( patternTokens[3] ) )
-                {
-                    // classifier required, cannot be a match
-                    return false;
-                }
-                patternTokens = new String[] { patternTokens[0], patternTokens[1], patternTokens[2], patternTokens[4] };
-            }
-
-            // fail immediately if pattern tokens outnumber tokens to match
-            boolean matched = patternTokens.length <= tokens.length;
-
-            for ( int i = 0; matched && i < patternTokens.length; i++ )
-            {
-                matched = matches( tokens[i], patternTokens[i] );
-            }
-
-            // case of starting '*' like '*:jar:*'
-            // This really only matches from the end instead.....
-            if ( !matched && patternTokens.length < tokens.length && isFirstPatternWildcard( patternTokens ) )
-            {
-                matched = true;
-                int tokenOffset = tokens.length - patternTokens.length;
-                for ( int i = 0; matched && i < patternTokens.length; i++ )
-                {
-                    matched = matches( tokens[i + tokenOffset], patternTokens[i] );
-                }
-            }
-
-            if ( matched )
-            {
-                patternsTriggered.add( pattern );
-                return true;
-            }
-
-            if ( regionMatch && value.contains( pattern ) )
-            {
-                patternsTriggered.add( pattern );
-                return true;
-            }
-
+            statistics.hit( pattern );
+            return true;
         }
         return false;
-
-    }
-
-    private boolean isFirstPatternWildcard( String[] patternTokens )
-    {
-        return patternTokens.length > 0 && "*".equals( patternTokens[0] );
     }
 
     /**
-     * Gets whether the specified token matches the specified pattern segment.
-     * 
-     * @param token the token to check
-     * @param pattern the pattern segment to match, as defined above
-     * @return <code>true</code> if the specified token is matched by the specified pattern segment
+     * The ids of an artifact which are matched against the patterns, split only once per artifact.
      */
-    private boolean matches( final String token, final String pattern )
+    private static final class ArtifactIds
     {
-        boolean matches;
-
-        // support full wildcard and implied wildcard
-        if ( "*".equals( pattern ) || pattern.length() == 0 )
-        {
-            matches = true;
-        }
-        // support contains wildcard
-        else if ( pattern.startsWith( "*" ) && pattern.endsWith( "*" ) )
-        {
-            final String contains = pattern.substring( 1, pattern.length() - 1 );
+        private final Artifact artifact;
 
-            matches = token.contains( contains );
-        }
-        // support leading wildcard
-        else if ( pattern.startsWith( "*" ) )
-        {
-            final String suffix = pattern.substring( 1, pattern.length() );
-
-            matches = token.endsWith( suffix );
-        }
-        // support trailing wildcard
-        else if ( pattern.endsWith( "*" ) )
-        {
-            final String prefix = pattern.substring( 0, pattern.length() - 1 );
+        private final String wholeId;
 
-            matches = token.startsWith( prefix );
-        }
-        // support wildcards in the middle of a pattern segment
-        else if ( pattern.indexOf( '*' ) > -1 )
-        {
-            String[] parts = pattern.split( "\\*" );
-            int lastPartEnd = -1;
-            boolean match = true;
+        private final String[] wholeIdTokens;
 
-            for ( String part : parts )
-            {
-                int idx = token.indexOf( part );
-                if ( idx <= lastPartEnd )
-                {
-                    match = false;
-                    break;
-                }
+        private final String id;
 
-                lastPartEnd = idx + part.length();
-            }
+        private final String[] idTokens;
 
-            matches = match;
-        }
-        // support versions range
-        else if ( pattern.startsWith( "[" ) || pattern.startsWith( "(" ) )
-        {
-            matches = isVersionIncludedInRange( token, pattern );
-        }
-        // support exact match
-        else
-        {
-            matches = token.equals( pattern );
-        }
+        private final String shortId;
 
-        return matches;
-    }
+        private final String[] shortIdTokens;
 
-    private boolean isVersionIncludedInRange( final String version, final String range )
-    {
-        try
-        {
-            return VersionRange.createFromVersionSpec( range ).containsVersion( new DefaultArtifactVersion( version ) );
-        }
-        catch ( final InvalidVersionSpecificationException e )
+        ArtifactIds( final Artifact artifact )
         {
-            return false;
+            this.artifact = artifact;
+            this.wholeId = artifact.getId();
+            this.wholeIdTokens = wholeId.split( ":" );
+            this.id = artifact.getDependencyConflictId();
+            this.idTokens = id.split( ":" );
+            this.shortId = ArtifactUtils.versionlessKey( artifact );
+            this.shortIdTokens = shortId.split( ":" );
         }
     }
 
@@ -336,11 +292,7 @@ public class PatternIncludesArtifactFilter
         // if there are no patterns, there is nothing to report.
         if ( !positivePatterns.isEmpty() || !negativePatterns.isEmpty() )
         {
-            final List<String> missed = new ArrayList<String>();
-            missed.addAll( positivePatterns );
-            missed.addAll( negativePatterns );
-
-            missed.removeAll( patternsTriggered );
+            final List<String> missed = statistics.getMissedCriteria();
 
             if ( !missed.isEmpty() && logger.isWarnEnabled() )
             {
@@ -393,15 +345,12 @@ public class PatternIncludesArtifactFilter
     /** {@inheritDoc} */
     public void reportFilteredArtifacts( final Logger logger )
     {
-        if ( !filteredArtifactIds.isEmpty() && logger.isDebugEnabled() )
+        if ( statistics.getFilteredCount() > 0 && logger.isDebugEnabled() )
         {
             final StringBuilder buffer =
                 new StringBuilder( "The following artifacts were removed by this " + getFilterDescription() + ": " );
 
-            for ( String artifactId : filteredArtifactIds )
-            {
-                buffer.append( '\n' ).append( artifactId );
-            }
+            statistics.appendFilteredArtifactIds( buffer );
 
             logger.debug( buffer.toString() );
         }
@@ -411,15 +360,9 @@ public class PatternIncludesArtifactFilter
     public boolean hasMissedCriteria()
     {
         // if there are no patterns, there is nothing to report.
-        if ( !positivePatterns.isEmpty() || !negativePatterns.isEmpty() )
+        if ( statistics.isEnabled() && ( !positivePatterns.isEmpty() || !negativePatterns.isEmpty() ) )
         {
-            final List<String> missed = new ArrayList<String>();
-            missed.addAll( positivePatterns );
-            missed.addAll( negativePatterns );
-
-            missed.removeAll( patternsTriggered );
-
-            return !missed.isEmpty();
+            return !statistics.getMissedCriteria().isEmpty();
         }
 
         return false;
@@ -19,8 +19,7 @@ package org.apache.maven.shared.artifact.filter;
  * under the License.
  */
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
@@ -51,19 +50,23 @@ public class ScopeArtifactFilter
     
     private boolean includeNullScope = true;
     
-    private boolean nullScopeHit = false;
+    private volatile boolean nullScopeHit = false;
 
-    private boolean compileScopeHit = false;
+    private volatile boolean compileScopeHit = false;
 
-    private boolean runtimeScopeHit = false;
+    private volatile boolean runtimeScopeHit = false;
 
-    private boolean testScopeHit = false;
+    private volatile boolean testScopeHit = false;
 
-    private boolean providedScopeHit = false;
+    private volatile boolean providedScopeHit = false;
 
-    private boolean systemScopeHit = false;
+    private volatile boolean systemScopeHit = false;
 
-    private List<String> filteredArtifactIds = new ArrayList<String>();
+    private final boolean collectStatistics;
+
+    private final int maxFilteredArtifactIds;
+
+    private volatile FilterStatistics statistics;
     
     /**
      * Constructor that is meant to be used with fine-grained manipulation to 
@@ -84,6 +87,26 @@ public class ScopeArtifactFilter
      */
     public ScopeArtifactFilter( String scope )
     {
+        this( scope, true, PatternIncludesArtifactFilter.UNLIMITED );
+    }
+
+    /**
+     * Creates a filter for the given scope and its implied scopes, with the given statistics settings. Disabling the
+     * statistics saves their bookkeeping on hot paths, nothing will be reported then.
+     *
+     * @param scope the scope, or <code>null</code> to enable the scopes with the associated mutator methods.
+     * @param collectStatistics whether hit scopes and filtered artifacts are recorded for the reports.
+     * @param maxFilteredArtifactIds the maximum number of filtered artifact ids kept for
+     *            {@link #reportFilteredArtifacts(Logger)}, or {@link PatternIncludesArtifactFilter#UNLIMITED} to
+     *            keep all of them.
+     * @since 3.0.2
+     */
+    public ScopeArtifactFilter( String scope, boolean collectStatistics, int maxFilteredArtifactIds )
+    {
+        this.collectStatistics = collectStatistics;
+        this.maxFilteredArtifactIds = maxFilteredArtifactIds;
+        this.statistics = newStatistics();
+
         if ( DefaultArtifact.SCOPE_COMPILE.equals( scope ) )
         {
             setIncludeCompileScopeWithImplications( true );
@@ -109,6 +132,11 @@ public class ScopeArtifactFilter
     /** {@inheritDoc} */
     public boolean include( Artifact artifact )
     {
+        if ( !collectStatistics )
+        {
+            return includeScope( artifact.getScope() );
+        }
+
         boolean result = true;
         
         if ( artifact.getScope() == null )
@@ -157,12 +185,50 @@ public class ScopeArtifactFilter
                 id = artifact.getId();
             }
             
-            filteredArtifactIds.add( id );
+            statistics.filtered( id );
         }
 
         return result;
     }
 
+    private boolean includeScope( String scope )
+    {
+        if ( scope == null )
+        {
+            return includeNullScope;
+        }
+        else if ( Artifact.SCOPE_COMPILE.equals( scope ) )
+        {
+            return includeCompileScope;
+        }
+        else if ( Artifact.SCOPE_RUNTIME.equals( scope ) )
+        {
+            return includeRuntimeScope;
+        }
+        else if ( Artifact.SCOPE_TEST.equals( scope ) )
+        {
+            return includeTestScope;
+        }
+        else if ( Artifact.SCOPE_PROVIDED.equals( scope ) )
+        {
+            return includeProvidedScope;
+        }
+        else if ( Artifact.SCOPE_SYSTEM.equals( scope ) )
+        {
+            return includeSystemScope;
+        }
+        return true;
+    }
+
+    private FilterStatistics newStatistics()
+    {
+        if ( !collectStatistics )
+        {
+            return FilterStatistics.DISABLED;
+        }
+        return new FilterStatistics( Collections.<String>emptyList(), maxFilteredArtifactIds );
+    }
+
     /**
      * @return Information converted to a string.
      */
@@ -176,14 +242,11 @@ public class ScopeArtifactFilter
     /** {@inheritDoc} */
     public void reportFilteredArtifacts( Logger logger )
     {
-        if ( !filteredArtifactIds.isEmpty() && logger.isDebugEnabled() )
+        if ( statistics.getFilteredCount() > 0 && logger.isDebugEnabled() )
         {
             StringBuilder buffer = new StringBuilder( "The following artifacts were removed by this filter: " );
 
-            for ( String artifactId : filteredArtifactIds )
-            {
-                buffer.append( '\n' ).append( artifactId );
-            }
+            statistics.appendFilteredArtifactIds( buffer );
 
             logger.debug( buffer.toString() );
         }
@@ -192,7 +255,7 @@ public class ScopeArtifactFilter
     /** {@inheritDoc} */
     public void reportMissedCriteria( Logger logger )
     {
-        if ( logger.isDebugEnabled() )
+        if ( collectStatistics && logger.isDebugEnabled() )
         {
             StringBuilder buffer = new StringBuilder();
 
@@ -238,6 +301,11 @@ public class ScopeArtifactFilter
     /** {@inheritDoc} */
     public boolean hasMissedCriteria()
     {
+        if ( !collectStatistics )
+        {
+            return false;
+        }
+
         boolean report = false;
 
         if ( !nullScopeHit )
@@ -450,7 +518,7 @@ public class ScopeArtifactFilter
         testScopeHit = false;
         providedScopeHit = false;
         systemScopeHit = false;
-        filteredArtifactIds.clear();
+        statistics = newStatistics();
         
         return this;
     }
@@ -142,6 +142,50 @@ public abstract class AbstractArtifactFeatureFilter
         return result;
     }
 
+    /**
+     * With more than one include, {@link #filter(Set)} groups the artifacts by the include they match, which a
+     * decision per artifact can't reproduce, so such a filter is not fused.
+     */
+    @Override
+    ArtifactPredicate toPredicate()
+    {
+        if ( isFilterOverridden( AbstractArtifactFeatureFilter.class )
+            || ( this.includes != null && this.includes.size() > 1 ) )
+        {
+            return null;
+        }
+
+        final List<String> theIncludes = this.includes != null && !this.includes.isEmpty() ? this.includes : null;
+        final List<String> theExcludes = this.excludes != null && !this.excludes.isEmpty() ? this.excludes : null;
+        if ( theIncludes == null && theExcludes == null )
+        {
+            return ArtifactPredicate.INCLUDE_ALL;
+        }
+
+        return new ArtifactPredicate( ArtifactPredicate.COST_COMPARE )
+        {
+            @Override
+            boolean include( Artifact artifact )
+            {
+                String artifactFeature = getArtifactFeature( artifact );
+                return ( theIncludes == null || matchesAny( artifactFeature, theIncludes ) )
+                    && ( theExcludes == null || !matchesAny( artifactFeature, theExcludes ) );
+            }
+        };
+    }
+
+    private boolean matchesAny( String artifactFeature, List<String> features )
+    {
+        for ( String feature : features )
+        {
+            if ( compareFeatures( artifactFeature, feature ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Should return the type or classifier of the given artifact, so that we can filter it
      * 
@@ -45,4 +45,34 @@ public abstract class AbstractArtifactsFilter
         set = filter( set );
         return set.contains( artifact );
     }
+
+    /**
+     * Used by {@link FilterArtifacts#compile()} to evaluate this filter artifact by artifact, together with the other
+     * filters.
+     *
+     * @return the decision of this filter for a single artifact, or <code>null</code> if this filter has to see the
+     *         whole set of artifacts.
+     * @throws ArtifactFilterException in case of an invalid filter configuration.
+     */
+    ArtifactPredicate toPredicate()
+        throws ArtifactFilterException
+    {
+        return null;
+    }
+
+    /**
+     * @param baseClass the class which declares the filter method the predicate is derived from.
+     * @return <code>true</code> if a subclass replaced that filter method, so the predicate can't be used.
+     */
+    boolean isFilterOverridden( Class<? extends AbstractArtifactsFilter> baseClass )
+    {
+        try
+        {
+            return getClass().getMethod( "filter", Set.class ).getDeclaringClass() != baseClass;
+        }
+        catch ( NoSuchMethodException e )
+        {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package org.apache.maven.shared.artifact.filter.collection;
+
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.    
+ */
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * The per-artifact decision of an {@link ArtifactsFilter}, as used by the single pass evaluation of
+ * {@link FilterArtifacts#compile()}.
+ */
+abstract class ArtifactPredicate
+{
+    /**
+     * Cost of a predicate comparing some strings of the artifact.
+     */
+    static final int COST_COMPARE = 0;
+
+    /**
+     * Cost of a predicate looking up the artifact in a hashed collection.
+     */
+    static final int COST_LOOKUP = 1;
+
+    /**
+     * Cost of a predicate which can't be estimated.
+     */
+    static final int COST_UNKNOWN = 2;
+
+    /**
+     * Predicate of a filter which doesn't filter anything, it is left out of the evaluation.
+     */
+    static final ArtifactPredicate INCLUDE_ALL = new ArtifactPredicate( COST_COMPARE )
+    {
+        @Override
+        boolean include( Artifact artifact )
+        {
+            return true;
+        }
+    };
+
+    private final int cost;
+
+    ArtifactPredicate( int cost )
+    {
+        this.cost = cost;
+    }
+
+    /**
+     * @return the relative cost of evaluating this predicate, cheaper predicates are evaluated first.
+     */
+    int getCost()
+    {
+        return cost;
+    }
+
+    /**
+     * @param artifact {@link Artifact}
+     * @return {@code true} if artifact is included {@code false} otherwise.
+     */
+    abstract boolean include( Artifact artifact );
+}
@@ -190,6 +190,24 @@ public class ArtifactTransitivityFilter
         return result;
     }
 
+    @Override
+    ArtifactPredicate toPredicate()
+    {
+        if ( isFilterOverridden( ArtifactTransitivityFilter.class ) )
+        {
+            return null;
+        }
+
+        return new ArtifactPredicate( ArtifactPredicate.COST_LOOKUP )
+        {
+            @Override
+            boolean include( Artifact artifact )
+            {
+                return artifactIsATransitiveDependency( artifact );
+            }
+        };
+    }
+
     /**
      * Compares the artifact to the list of dependencies to see if it is directly included by this project
      *
@@ -0,0 +1,220 @@
+package org.apache.maven.shared.artifact.filter.collection;
+
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.    
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * The filters of a {@link FilterArtifacts}, evaluated in a single pass over the artifacts. Consecutive filters which
+ * decide per artifact are fused: all their predicates are checked for an artifact, cheapest first, and the survivors
+ * are collected into one result set. Other filters are applied on their own, in their original order.
+ *
+ * @see FilterArtifacts#compile()
+ */
+class CompiledArtifactsFilter
+    extends AbstractArtifactsFilter
+{
+    private static final Comparator<ArtifactPredicate> BY_COST = new Comparator<ArtifactPredicate>()
+    {
+        @Override
+        public int compare( ArtifactPredicate o1, ArtifactPredicate o2 )
+        {
+            return o1.getCost() - o2.getCost();
+        }
+    };
+
+    private final List<Stage> stages;
+
+    /**
+     * @param filters the filters to compile, <code>null</code> elements are ignored.
+     * @throws ArtifactFilterException in case of an invalid filter configuration.
+     */
+    CompiledArtifactsFilter( List<ArtifactsFilter> filters )
+        throws ArtifactFilterException
+    {
+        List<Stage> compiled = new ArrayList<Stage>();
+
+        List<ArtifactsFilter> fusedFilters = new ArrayList<ArtifactsFilter>();
+        List<ArtifactPredicate> fusedPredicates = new ArrayList<ArtifactPredicate>();
+
+        for ( ArtifactsFilter filter : filters )
+        {
+            if ( filter == null )
+            {
+                continue;
+            }
+
+            ArtifactPredicate predicate = null;
+            if ( filter instanceof AbstractArtifactsFilter )
+            {
+                predicate = ( (AbstractArtifactsFilter) filter ).toPredicate();
+            }
+
+            if ( predicate != null )
+            {
+                fusedFilters.add( filter );
+                if ( predicate != ArtifactPredicate.INCLUDE_ALL )
+                {
+                    fusedPredicates.add( predicate );
+                }
+            }
+            else
+            {
+                if ( !fusedFilters.isEmpty() )
+                {
+                    compiled.add( new FusedStage( fusedFilters, fusedPredicates ) );
+                    fusedFilters = new ArrayList<ArtifactsFilter>();
+                    fusedPredicates = new ArrayList<ArtifactPredicate>();
+                }
+                compiled.add( new FilterStage( filter ) );
+            }
+        }
+
+        if ( !fusedFilters.isEmpty() )
+        {
+            compiled.add( new FusedStage( fusedFilters, fusedPredicates ) );
+        }
+
+        this.stages = compiled;
+    }
+
+    /** {@inheritDoc} */
+    public Set<Artifact> filter( Set<Artifact> artifacts )
+        throws ArtifactFilterException
+    {
+        Set<Artifact> result = artifacts;
+        for ( Stage stage : stages )
+        {
+            result = stage.filter( result );
+        }
+        return result;
+    }
+
+    /**
+     * Applies a filter like {@link FilterArtifacts#filter(Set)} does, skipping it if it fails with a
+     * {@link NullPointerException}.
+     */
+    private static Set<Artifact> applyFilter( ArtifactsFilter filter, Set<Artifact> artifacts )
+        throws ArtifactFilterException
+    {
+        try
+        {
+            return filter.filter( artifacts );
+        }
+        catch ( NullPointerException e )
+        {
+            // don't do anything, just skip this.
+            return artifacts;
+        }
+    }
+
+    private interface Stage
+    {
+        Set<Artifact> filter( Set<Artifact> artifacts )
+            throws ArtifactFilterException;
+    }
+
+    private static final class FilterStage
+        implements Stage
+    {
+        private final ArtifactsFilter filter;
+
+        FilterStage( ArtifactsFilter filter )
+        {
+            this.filter = filter;
+        }
+
+        @Override
+        public Set<Artifact> filter( Set<Artifact> artifacts )
+            throws ArtifactFilterException
+        {
+            return applyFilter( filter, artifacts );
+        }
+    }
+
+    private static final class FusedStage
+        implements Stage
+    {
+        private final List<ArtifactsFilter> filters;
+
+        private final ArtifactPredicate[] predicates;
+
+        FusedStage( List<ArtifactsFilter> filters, List<ArtifactPredicate> predicates )
+        {
+            this.filters = filters;
+
+            List<ArtifactPredicate> sorted = new ArrayList<ArtifactPredicate>( predicates );
+            Collections.sort( sorted, BY_COST );
+            this.predicates = sorted.toArray( new ArtifactPredicate[sorted.size()] );
+        }
+
+        @Override
+        public Set<Artifact> filter( Set<Artifact> artifacts )
+            throws ArtifactFilterException
+        {
+            if ( predicates.length == 0 )
+            {
+                return artifacts;
+            }
+
+            Set<Artifact> result = new LinkedHashSet<Artifact>();
+            try
+            {
+                for ( Artifact artifact : artifacts )
+                {
+                    if ( include( artifact ) )
+                    {
+                        result.add( artifact );
+                    }
+                }
+            }
+            catch ( NullPointerException e )
+            {
+                // a failing filter is skipped as a whole, so the decisions so far can't be trusted
+                Set<Artifact> fallback = artifacts;
+                for ( ArtifactsFilter filter : filters )
+                {
+                    fallback = applyFilter( filter, fallback );
+                }
+                return fallback;
+            }
+            return result;
+        }
+
+        private boolean include( Artifact artifact )
+        {
+            for ( ArtifactPredicate predicate : predicates )
+            {
+                if ( !predicate.include( artifact ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
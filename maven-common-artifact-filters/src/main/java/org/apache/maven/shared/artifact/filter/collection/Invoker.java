@@ -20,17 +20,49 @@ package org.apache.maven.shared.artifact.filter.collection;
  */
 
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Invokes method on objects using reflection.
  */
 final class Invoker
 {
+    /**
+     * The methods looked up so far, by class and signature.
+     */
+    private static final ConcurrentMap<List<Object>, Method> METHODS =
+        new ConcurrentHashMap<List<Object>, Method>();
+
     private Invoker()
     {
         // do not instantiate
     }
 
+    /**
+     * Same as {@link Class#getMethod(String, Class...)}, but every method is looked up only once, since these methods
+     * are invoked for every single artifact or dependency.
+     */
+    private static Method getMethod( Class<?> objectClazz, String method, Class<?>... parameterTypes )
+        throws NoSuchMethodException
+    {
+        Object[] signature = new Object[parameterTypes.length + 2];
+        signature[0] = objectClazz;
+        signature[1] = method;
+        System.arraycopy( parameterTypes, 0, signature, 2, parameterTypes.length );
+        List<Object> key = Arrays.asList( signature );
+        Method result = METHODS.get( key );
+        if ( result == null )
+        {
+            result = objectClazz.getMethod( method, parameterTypes );
+            METHODS.putIfAbsent( key, result );
+        }
+        return result;
+    }
+
     public static Object invoke( Object object, String method )
         throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
     {
@@ -40,13 +72,13 @@ final class Invoker
     public static Object invoke( Class<?> objectClazz, Object object, String method )
         throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
     {
-        return objectClazz.getMethod( method ).invoke( object );
+        return getMethod( objectClazz, method ).invoke( object );
     }
 
     public static Object invoke( Object object, String method, Class<?> clazz, Object arg )
         throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
     {
         final Class<?> objectClazz = object.getClass();
-        return objectClazz.getMethod( method, clazz ).invoke( object, arg );
+        return getMethod( objectClazz, method, clazz ).invoke( object, arg );
     }
 }
@@ -19,6 +19,7 @@ package org.apache.maven.shared.artifact.filter.collection;
  * under the License.    
  */
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -69,6 +70,43 @@ public class ProjectTransitivityFilter
         return result;
     }
 
+    @Override
+    ArtifactPredicate toPredicate()
+    {
+        if ( isFilterOverridden( ProjectTransitivityFilter.class ) )
+        {
+            return null;
+        }
+
+        if ( !excludeTransitive )
+        {
+            return ArtifactPredicate.INCLUDE_ALL;
+        }
+
+        if ( getClass() != ProjectTransitivityFilter.class )
+        {
+            // artifactIsADirectDependency() may be customized
+            return new ArtifactPredicate( ArtifactPredicate.COST_UNKNOWN )
+            {
+                @Override
+                boolean include( Artifact artifact )
+                {
+                    return artifactIsADirectDependency( artifact );
+                }
+            };
+        }
+
+        final Set<Artifact> dependencies = new HashSet<Artifact>( this.directDependencies );
+        return new ArtifactPredicate( ArtifactPredicate.COST_LOOKUP )
+        {
+            @Override
+            boolean include( Artifact artifact )
+            {
+                return dependencies.contains( artifact );
+            }
+        };
+    }
+
     /**
      * Compares the artifact to the list of dependencies to see if it is directly included by this project
      * 
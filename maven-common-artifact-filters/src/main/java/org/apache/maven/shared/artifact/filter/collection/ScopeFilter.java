@@ -19,6 +19,7 @@ package org.apache.maven.shared.artifact.filter.collection;
  * under the License.    
  */
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -66,9 +67,7 @@ public class ScopeFilter
 
         if ( StringUtils.isNotEmpty( includeScope ) )
         {
-            if ( !Artifact.SCOPE_COMPILE.equals( includeScope ) && !Artifact.SCOPE_TEST.equals( includeScope )
-                && !Artifact.SCOPE_PROVIDED.equals( includeScope ) && !Artifact.SCOPE_RUNTIME.equals( includeScope )
-                && !Artifact.SCOPE_SYSTEM.equals( includeScope ) )
+            if ( !isValidScope( includeScope ) )
             {
                 throw new ArtifactFilterException( "Invalid Scope in includeScope: " + includeScope );
             }
@@ -94,9 +93,7 @@ public class ScopeFilter
         }
         else if ( StringUtils.isNotEmpty( excludeScope ) )
         {
-            if ( !Artifact.SCOPE_COMPILE.equals( excludeScope ) && !Artifact.SCOPE_TEST.equals( excludeScope )
-                && !Artifact.SCOPE_PROVIDED.equals( excludeScope ) && !Artifact.SCOPE_RUNTIME.equals( excludeScope )
-                && !Artifact.SCOPE_SYSTEM.equals( excludeScope ) )
+            if ( !isValidScope( excludeScope ) )
             {
                 throw new ArtifactFilterException( "Invalid Scope in excludeScope: " + excludeScope );
             }
@@ -129,6 +126,114 @@ public class ScopeFilter
         return results;
     }
 
+    @Override
+    ArtifactPredicate toPredicate()
+        throws ArtifactFilterException
+    {
+        if ( isFilterOverridden( ScopeFilter.class ) )
+        {
+            return null;
+        }
+
+        if ( StringUtils.isNotEmpty( includeScope ) )
+        {
+            if ( !isValidScope( includeScope ) )
+            {
+                throw new ArtifactFilterException( "Invalid Scope in includeScope: " + includeScope );
+            }
+
+            final String scope = includeScope;
+            if ( Artifact.SCOPE_PROVIDED.equals( scope ) || Artifact.SCOPE_SYSTEM.equals( scope ) )
+            {
+                return new ArtifactPredicate( ArtifactPredicate.COST_COMPARE )
+                {
+                    @Override
+                    boolean include( Artifact artifact )
+                    {
+                        return scope.equals( artifact.getScope() );
+                    }
+                };
+            }
+
+            final Set<String> excludedScopes = getExcludedScopes( scope );
+            return new ArtifactPredicate( ArtifactPredicate.COST_COMPARE )
+            {
+                @Override
+                boolean include( Artifact artifact )
+                {
+                    return !excludedScopes.contains( artifact.getScope() );
+                }
+            };
+        }
+        else if ( StringUtils.isNotEmpty( excludeScope ) )
+        {
+            if ( !isValidScope( excludeScope ) )
+            {
+                throw new ArtifactFilterException( "Invalid Scope in excludeScope: " + excludeScope );
+            }
+            if ( Artifact.SCOPE_TEST.equals( excludeScope ) )
+            {
+                throw new ArtifactFilterException( " Can't exclude Test scope, this will exclude everything." );
+            }
+
+            final String scope = excludeScope;
+            if ( Artifact.SCOPE_PROVIDED.equals( scope ) || Artifact.SCOPE_SYSTEM.equals( scope ) )
+            {
+                return new ArtifactPredicate( ArtifactPredicate.COST_COMPARE )
+                {
+                    @Override
+                    boolean include( Artifact artifact )
+                    {
+                        return !scope.equals( artifact.getScope() );
+                    }
+                };
+            }
+
+            final Set<String> excludedScopes = getExcludedScopes( scope );
+            return new ArtifactPredicate( ArtifactPredicate.COST_COMPARE )
+            {
+                @Override
+                boolean include( Artifact artifact )
+                {
+                    return excludedScopes.contains( artifact.getScope() );
+                }
+            };
+        }
+
+        return ArtifactPredicate.INCLUDE_ALL;
+    }
+
+    /**
+     * Gets the scopes rejected by a {@link ScopeArtifactFilter} for the given scope, so that a compiled filter can
+     * compare the scope of an artifact directly. Artifacts without or with an unknown scope are never rejected.
+     *
+     * @param scope The compile, runtime or test scope.
+     * @return The scopes not implied by the given scope.
+     */
+    private static Set<String> getExcludedScopes( String scope )
+    {
+        Set<String> excludedScopes = new HashSet<String>( 8 );
+        if ( Artifact.SCOPE_COMPILE.equals( scope ) )
+        {
+            excludedScopes.add( Artifact.SCOPE_RUNTIME );
+            excludedScopes.add( Artifact.SCOPE_TEST );
+        }
+        else if ( Artifact.SCOPE_RUNTIME.equals( scope ) )
+        {
+            excludedScopes.add( Artifact.SCOPE_TEST );
+            excludedScopes.add( Artifact.SCOPE_PROVIDED );
+            excludedScopes.add( Artifact.SCOPE_SYSTEM );
+        }
+        return excludedScopes;
+    }
+
+    private static boolean isValidScope( String scope )
+    {
+        return Artifact.SCOPE_COMPILE.equals( scope ) || Artifact.SCOPE_TEST.equals( scope )
+            || Artifact.SCOPE_PROVIDED.equals( scope ) || Artifact.SCOPE_RUNTIME.equals( scope )
+            || Artifact.SCOPE_SYSTEM.equals( scope );
+    }
+
     private Set<Artifact> includeSingleScope( Set<Artifact> artifacts, String scope )
     {
         Set<Artifact> results = new LinkedHashSet<Artifact>();
@@ -39,6 +39,8 @@ class EclipseAetherNode implements Node
 
     private final DependencyNode node;
 
+    private org.apache.maven.model.Dependency mavenDependency;
+
     EclipseAetherNode( DependencyNode node )
     {
         this.node = node;
@@ -46,6 +48,16 @@ class EclipseAetherNode implements Node
 
     @Override
     public org.apache.maven.model.Dependency getDependency()
+    {
+        // converted once, a filter may ask for it several times
+        if ( mavenDependency == null )
+        {
+            mavenDependency = toMavenDependency( node );
+        }
+        return mavenDependency;
+    }
+
+    private static org.apache.maven.model.Dependency toMavenDependency( DependencyNode node )
     {
         Dependency nodeDependency = node.getDependency();
 
@@ -87,5 +99,4 @@ class EclipseAetherNode implements Node
 
         return mavenDependency;
     }
-     
 }
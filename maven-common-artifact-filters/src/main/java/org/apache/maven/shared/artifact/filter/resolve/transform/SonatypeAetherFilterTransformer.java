@@ -22,6 +22,8 @@ package org.apache.maven.shared.artifact.filter.resolve.transform;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +36,7 @@ import org.apache.maven.shared.artifact.filter.resolve.PatternExclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.PatternInclusionsFilter;
 import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
 import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
+import org.sonatype.aether.graph.Dependency;
 import org.sonatype.aether.graph.DependencyFilter;
 import org.sonatype.aether.graph.DependencyNode;
 import org.sonatype.aether.util.filter.AndDependencyFilter;
@@ -56,7 +59,9 @@ public class SonatypeAetherFilterTransformer
      * When using as regular expression, group(1) + group(3) will be the coordinate, 
      * group(2) will be the classifier.
      */
-    private static final String GAE_C_V = "(.*:.*:.*):(.+)(:.*)";
+    private static final Pattern GAE_C_V = Pattern.compile( "(.*:.*:.*):(.+)(:.*)" );
+
+    private static final int MAX_DECISIONS = 4096;
     
     @Override
     public AndDependencyFilter transform( AndFilter filter )
@@ -107,7 +112,7 @@ public class SonatypeAetherFilterTransformer
         
         for ( String include : filter.getIncludes() )
         {
-            if ( include.matches( GAE_C_V ) )
+            if ( GAE_C_V.matcher( include ).matches() )
             {
                 return newAdvancedPatternInclusionFilter( filter.getIncludes() );
             }
@@ -116,15 +121,37 @@ public class SonatypeAetherFilterTransformer
         return new PatternInclusionsDependencyFilter( filter.getIncludes() );
     }
     
+    /**
+     * The transformed filter decides only once for all nodes with an equal dependency, i.e. equal coordinates, scope,
+     * optional flag and exclusions, since the custom filter doesn't get the parents of a node anyway. At most 4096
+     * decisions are remembered.
+     */
     @Override
     public DependencyFilter transform( final AbstractFilter filter )
     {
         return new DependencyFilter()
         {
+            private final ConcurrentMap<Dependency, Boolean> decisions = new ConcurrentHashMap<Dependency, Boolean>();
+
             @Override
             public boolean accept( DependencyNode node, List<DependencyNode> parents )
             {
-                return filter.accept( new SonatypeAetherNode( node ), null );
+                Dependency dependency = node.getDependency();
+                if ( dependency == null )
+                {
+                    return filter.accept( new SonatypeAetherNode( node ), null );
+                }
+
+                Boolean decision = decisions.get( dependency );
+                if ( decision == null )
+                {
+                    decision = filter.accept( new SonatypeAetherNode( node ), null );
+                    if ( decisions.size() < MAX_DECISIONS )
+                    {
+                        decisions.putIfAbsent( dependency, decision );
+                    }
+                }
+                return decision;
             }
         };
     }
@@ -133,16 +160,16 @@ public class SonatypeAetherFilterTransformer
     {
         List<DependencyFilter> filters = new ArrayList<DependencyFilter>( includes.size() );
 
-        Pattern pattern = Pattern.compile( GAE_C_V );
         for ( String include : includes )
         {
-            Matcher matcher = pattern.matcher( include );
+            Matcher matcher = GAE_C_V.matcher( include );
             if ( matcher.matches() )
             {
                 DependencyFilter patternFilter =
                     new PatternInclusionsDependencyFilter( matcher.group( 1 ) + matcher.group( 3 ) );
 
                 final String classifier = matcher.group( 2 );
+                final Pattern classifierPattern = "*".equals( classifier ) ? null : Pattern.compile( classifier );
                 
                 DependencyFilter classifierFilter = new DependencyFilter()
                 {
@@ -157,7 +184,7 @@ public class SonatypeAetherFilterTransformer
                         }
                         else 
                         {
-                            return "*".equals( classifier ) || nodeClassifier.matches( classifier );
+                            return classifierPattern == null || classifierPattern.matcher( nodeClassifier ).matches();
                         }
                     }
                 };
@@ -39,6 +39,8 @@ class SonatypeAetherNode implements Node
 
     private final DependencyNode node;
 
+    private org.apache.maven.model.Dependency mavenDependency;
+
     SonatypeAetherNode( DependencyNode node )
     {
         this.node = node;
@@ -47,6 +49,16 @@ class SonatypeAetherNode implements Node
 
     @Override
     public org.apache.maven.model.Dependency getDependency()
+    {
+        // converted once, a filter may ask for it several times
+        if ( mavenDependency == null )
+        {
+            mavenDependency = toMavenDependency( node );
+        }
+        return mavenDependency;
+    }
+
+    private static org.apache.maven.model.Dependency toMavenDependency( DependencyNode node )
     {
         Dependency nodeDependency = node.getDependency();
 
@@ -84,5 +96,4 @@ class SonatypeAetherNode implements Node
 
         return mavenDependency;
     }
-     
 }
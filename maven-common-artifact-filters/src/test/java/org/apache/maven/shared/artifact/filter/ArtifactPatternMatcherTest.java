@@ -0,0 +1,132 @@
+package org.apache.maven.shared.artifact.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class ArtifactPatternMatcherTest
+    extends TestCase
+{
+    public void testPatternBeforeExactPatternTakesPrecedence()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "g:*", "g:a" ) );
+
+        assertEquals( "g:*", match( matcher, "g:a:jar:1.0" ) );
+    }
+
+    public void testExactPatternTakesPrecedenceOverLaterPatterns()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "x:*", "g:a", "g:*" ) );
+
+        assertEquals( "g:a", match( matcher, "g:a:jar:1.0" ) );
+        assertEquals( "g:*", match( matcher, "g:b:jar:1.0" ) );
+        assertNull( match( matcher, "h:a:jar:1.0" ) );
+    }
+
+    public void testFirstOfDuplicateExactPatternsIsReported()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "g:a", "g:*", "g:a" ) );
+
+        assertEquals( "g:a", match( matcher, "g:a:jar:1.0" ) );
+    }
+
+    public void testMissingClassifierAbortsMatching()
+    {
+        ArtifactPatternMatcher matcher =
+            new ArtifactPatternMatcher( Arrays.asList( "g:a:jar:tests:*", "g:a", "g:*" ) );
+
+        assertNull( match( matcher, "g:a:jar:1.0" ) );
+        assertEquals( "g:a:jar:tests:*", match( matcher, "g:a:jar:tests:1.0" ) );
+    }
+
+    public void testMissingClassifierDoesNotAbortEarlierExactPattern()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "g:a", "g:a:jar:tests:*" ) );
+
+        assertEquals( "g:a", match( matcher, "g:a:jar:1.0" ) );
+    }
+
+    public void testClassifierWildcardMatchesWithoutClassifier()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "g:a:jar:*:1.0" ) );
+
+        assertEquals( "g:a:jar:*:1.0", match( matcher, "g:a:jar:1.0" ) );
+        assertEquals( "g:a:jar:*:1.0", match( matcher, "g:a:jar:tests:1.0" ) );
+        assertNull( match( matcher, "g:a:jar:2.0" ) );
+    }
+
+    public void testVersionRangeTokens()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "g:a:*:[1.0,2.0)" ) );
+
+        assertEquals( "g:a:*:[1.0,2.0)", match( matcher, "g:a:jar:1.0" ) );
+        assertEquals( "g:a:*:[1.0,2.0)", match( matcher, "g:a:jar:1.5" ) );
+        assertNull( match( matcher, "g:a:jar:2.0" ) );
+        assertNull( match( matcher, "g:a:jar:0.9" ) );
+    }
+
+    public void testInvalidVersionRangeNeverMatches()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "g:a:*:[2.0,1.0]" ) );
+
+        assertNull( match( matcher, "g:a:jar:1.5" ) );
+    }
+
+    public void testWildcardTokens()
+    {
+        ArtifactPatternMatcher matcher =
+            new ArtifactPatternMatcher( Arrays.asList( "*roup:a", "g:*rt*", "g:ab*", "g:c*d*e", "*:war" ) );
+
+        assertEquals( "*roup:a", match( matcher, "group:a:jar:1.0" ) );
+        assertEquals( "g:*rt*", match( matcher, "g:artifact:jar:1.0" ) );
+        assertEquals( "g:ab*", match( matcher, "g:abc:jar:1.0" ) );
+        assertEquals( "g:c*d*e", match( matcher, "g:cxdxe:jar:1.0" ) );
+        assertNull( match( matcher, "g:cxexd:jar:1.0" ) );
+        assertEquals( "*:war", match( matcher, "h:b:war" ) );
+    }
+
+    public void testRegionMatch()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.asList( "x:*", "oup:art" ) );
+
+        assertEquals( "oup:art", match( matcher, "group:artifact:jar:1.0", true ) );
+        assertNull( match( matcher, "group:artifact:jar:1.0" ) );
+    }
+
+    public void testEmptyMatcher()
+    {
+        ArtifactPatternMatcher matcher = new ArtifactPatternMatcher( Arrays.<String>asList() );
+
+        assertTrue( matcher.isEmpty() );
+        assertNull( match( matcher, "g:a:jar:1.0" ) );
+    }
+
+    private static String match( ArtifactPatternMatcher matcher, String value )
+    {
+        return match( matcher, value, false );
+    }
+
+    private static String match( ArtifactPatternMatcher matcher, String value, boolean regionMatch )
+    {
+        return matcher.match( value, value.split( ":" ), regionMatch );
+    }
+}
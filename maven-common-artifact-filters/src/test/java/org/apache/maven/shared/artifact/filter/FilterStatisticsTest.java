@@ -0,0 +1,98 @@
+package org.apache.maven.shared.artifact.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+public class FilterStatisticsTest
+    extends TestCase
+{
+    public void testMissedCriteriaKeepOrder()
+    {
+        FilterStatistics statistics = new FilterStatistics( Arrays.asList( "a:*", "b:*", "c:*" ), -1 );
+        statistics.hit( "b:*" );
+        statistics.hit( "b:*" );
+        statistics.hit( "unknown" );
+
+        assertEquals( Arrays.asList( "a:*", "c:*" ), statistics.getMissedCriteria() );
+        assertEquals( 2, statistics.getHitCount( "b:*" ) );
+        assertEquals( 0, statistics.getHitCount( "unknown" ) );
+    }
+
+    public void testFilteredArtifactIdsAreBounded()
+    {
+        FilterStatistics statistics = new FilterStatistics( Collections.<String>emptyList(), 2 );
+        statistics.filtered( "g:a1:jar:1" );
+        statistics.filtered( "g:a2:jar:1" );
+        statistics.filtered( "g:a3:jar:1" );
+
+        assertEquals( 3, statistics.getFilteredCount() );
+        assertEquals( Arrays.asList( "g:a1:jar:1", "g:a2:jar:1" ), statistics.getFilteredArtifactIds() );
+
+        StringBuilder buffer = new StringBuilder();
+        statistics.appendFilteredArtifactIds( buffer );
+        assertEquals( "\ng:a1:jar:1\ng:a2:jar:1\n(1 more)", buffer.toString() );
+    }
+
+    public void testDisabledStatisticsRecordNothing()
+    {
+        FilterStatistics statistics = FilterStatistics.DISABLED;
+        statistics.filtered( "g:a:jar:1" );
+
+        assertFalse( statistics.isEnabled() );
+        assertEquals( 0, statistics.getFilteredCount() );
+        assertTrue( statistics.getMissedCriteria().isEmpty() );
+    }
+
+    public void testConcurrentUpdates()
+        throws InterruptedException
+    {
+        final FilterStatistics statistics = new FilterStatistics( Collections.singletonList( "a:*" ), 10 );
+
+        Thread[] threads = new Thread[4];
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            threads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    for ( int j = 0; j < 1000; j++ )
+                    {
+                        statistics.hit( "a:*" );
+                        statistics.filtered( "g:a:jar:" + j );
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        assertEquals( 4000, statistics.getHitCount( "a:*" ) );
+        assertEquals( 4000, statistics.getFilteredCount() );
+        assertEquals( 10, statistics.getFilteredArtifactIds().size() );
+    }
+}
@@ -19,8 +19,13 @@ package org.apache.maven.shared.artifact.filter;
  * under the License.
  */
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.List;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 
 public class PatternIncludesArtifactFilterTest
@@ -43,4 +48,56 @@ public class PatternIncludesArtifactFilterTest
     {
         return true;
     }
+
+    public void testNegatedPatterns()
+    {
+        PatternIncludesArtifactFilter filter =
+            new PatternIncludesArtifactFilter( Arrays.asList( "!g:a", "!*:b:*:[1.0,2.0)" ) );
+
+        assertFalse( filter.include( createArtifact( "g", "a", "1.0" ) ) );
+        assertFalse( filter.include( createArtifact( "h", "b", "1.5" ) ) );
+        assertTrue( filter.include( createArtifact( "h", "b", "2.0" ) ) );
+        assertTrue( filter.include( createArtifact( "g", "c", "1.0" ) ) );
+    }
+
+    public void testFirstMatchingPatternIsRecorded()
+        throws Exception
+    {
+        PatternIncludesArtifactFilter filter =
+            new PatternIncludesArtifactFilter( Arrays.asList( "g:*", "g:a", "h:b", "h:*", "!i:c", "!*:c" ) );
+
+        assertTrue( filter.include( createArtifact( "g", "a", "1.0" ) ) );
+        assertTrue( filter.include( createArtifact( "h", "b", "1.0" ) ) );
+        assertTrue( filter.include( createArtifact( "j", "d", "1.0" ) ) );
+
+        assertEquals( Arrays.asList( "g:a", "h:*", "i:c", "*:c" ), getStatistics( filter ).getMissedCriteria() );
+        assertEquals( 1, getStatistics( filter ).getHitCount( "g:*" ) );
+        assertEquals( 1, getStatistics( filter ).getHitCount( "h:b" ) );
+    }
+
+    public void testAbortedPatternIsNotRecorded()
+        throws Exception
+    {
+        PatternIncludesArtifactFilter filter =
+            new PatternIncludesArtifactFilter( Arrays.asList( "g:a:jar:tests:*", "g:a" ) );
+
+        assertFalse( filter.include( createArtifact( "g", "a", "1.0" ) ) );
+
+        assertEquals( Arrays.asList( "g:a:jar:tests:*", "g:a" ), getStatistics( filter ).getMissedCriteria() );
+        assertEquals( 1, getStatistics( filter ).getFilteredCount() );
+    }
+
+    private static Artifact createArtifact( String groupId, String artifactId, String version )
+    {
+        return new DefaultArtifact( groupId, artifactId, version, null, "jar", null,
+                                    new DefaultArtifactHandler( "jar" ) );
+    }
+
+    private static FilterStatistics getStatistics( PatternIncludesArtifactFilter filter )
+        throws Exception
+    {
+        Field field = PatternIncludesArtifactFilter.class.getDeclaredField( "statistics" );
+        field.setAccessible( true );
+        return (FilterStatistics) field.get( filter );
+    }
 }
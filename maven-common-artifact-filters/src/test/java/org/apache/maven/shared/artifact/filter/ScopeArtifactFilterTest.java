@@ -23,6 +23,9 @@ import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
+
+import java.lang.reflect.Field;
+
 import junit.framework.TestCase;
 
 import org.apache.maven.artifact.Artifact;
@@ -266,6 +269,38 @@ public class ScopeArtifactFilterTest
         verifyExcluded( scope, Artifact.SCOPE_TEST );
     }
 
+    public void testDisabledStatisticsDoNotBuildIds()
+    {
+        ScopeArtifactFilter filter =
+            new ScopeArtifactFilter( Artifact.SCOPE_RUNTIME, false, PatternIncludesArtifactFilter.UNLIMITED );
+
+        Artifact artifact = createMock( Artifact.class );
+        expect( artifact.getScope() ).andReturn( Artifact.SCOPE_TEST ).anyTimes();
+        replay( artifact );
+
+        assertFalse( filter.include( artifact ) );
+        assertFalse( filter.hasMissedCriteria() );
+
+        verify( artifact );
+    }
+
+    public void testFilteredArtifactIdsAreBoundedAfterReset()
+        throws Exception
+    {
+        ScopeArtifactFilter filter = new ScopeArtifactFilter( Artifact.SCOPE_RUNTIME, true, 1 );
+
+        verifyExcluded( filter, Artifact.SCOPE_TEST );
+        verifyExcluded( filter, Artifact.SCOPE_TEST );
+        assertEquals( 2, getStatistics( filter ).getFilteredCount() );
+        assertEquals( 1, getStatistics( filter ).getFilteredArtifactIds().size() );
+
+        filter.reset();
+        verifyExcluded( filter, Artifact.SCOPE_TEST );
+        verifyExcluded( filter, Artifact.SCOPE_TEST );
+        assertEquals( 2, getStatistics( filter ).getFilteredCount() );
+        assertEquals( 1, getStatistics( filter ).getFilteredArtifactIds().size() );
+    }
+
     private void verifyIncluded( String filterScope, String artifactScope )
     {
         Artifact artifact = createMockArtifact( artifactScope );
@@ -327,4 +362,12 @@ public class ScopeArtifactFilterTest
         return artifact;
     }
 
+    private static FilterStatistics getStatistics( ScopeArtifactFilter filter )
+        throws Exception
+    {
+        Field field = ScopeArtifactFilter.class.getDeclaredField( "statistics" );
+        field.setAccessible( true );
+        return (FilterStatistics) field.get( filter );
+    }
+
 }
@@ -26,11 +26,16 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import junit.framework.TestCase;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.plugin.testing.ArtifactStubFactory;
 import org.apache.maven.shared.utils.io.FileUtils;
 
@@ -131,4 +136,112 @@ public class TestFilterArtifacts
         assertEquals( 2, results.size() );
     }
 
+    public void testCompiledFilter() throws IOException, ArtifactFilterException
+    {
+        File outputFolder = new File( "target/filters/" );
+        FileUtils.deleteDirectory( outputFolder );
+        ArtifactStubFactory fact = new ArtifactStubFactory( outputFolder, false );
+
+        Set<Artifact> artifacts = fact.getMixedArtifacts();
+        Set<Artifact> classified = fact.getClassifiedArtifacts();
+        FilterArtifacts fa = new FilterArtifacts();
+        fa.addFilter( new ScopeFilter( "runtime", null ) );
+        fa.addFilter( new TypeFilter( "", "war" ) );
+        fa.addFilter( new ProjectTransitivityFilter( artifacts, true ) );
+        fa.addFilter( new ClassifierFilter( "", "four" ) );
+
+        ArtifactsFilter compiled = fa.compile();
+        assertEquals( fa.filter( artifacts ), compiled.filter( artifacts ) );
+        assertEquals( fa.filter( classified ), compiled.filter( classified ) );
+    }
+
+    public void testCompiledFilterKeepsOrderOfIncludes() throws IOException, ArtifactFilterException
+    {
+        File outputFolder = new File( "target/filters/" );
+        FileUtils.deleteDirectory( outputFolder );
+        ArtifactStubFactory fact = new ArtifactStubFactory( outputFolder, false );
+
+        Set<Artifact> artifacts = new LinkedHashSet<Artifact>();
+        artifacts.add( fact.createArtifact( "g", "a", "1.0", Artifact.SCOPE_COMPILE, "jar", null ) );
+        artifacts.add( fact.createArtifact( "g", "b", "1.0", Artifact.SCOPE_COMPILE, "war", null ) );
+        artifacts.add( fact.createArtifact( "g", "c", "1.0", Artifact.SCOPE_TEST, "jar", null ) );
+        artifacts.add( fact.createArtifact( "g", "d", "1.0", Artifact.SCOPE_COMPILE, "zip", null ) );
+        artifacts.add( fact.createArtifact( "g", "e", "1.0", Artifact.SCOPE_RUNTIME, "war", null ) );
+        artifacts.add( fact.createArtifact( "g", "f", "1.0", Artifact.SCOPE_COMPILE, "jar", null ) );
+
+        FilterArtifacts fa = new FilterArtifacts();
+        fa.addFilter( new ScopeFilter( "runtime", null ) );
+        fa.addFilter( new TypeFilter( "war,jar", "" ) );
+        fa.addFilter( new ArtifactIdFilter( "", "f" ) );
+
+        List<Artifact> expected = new ArrayList<Artifact>( fa.filter( artifacts ) );
+        assertEquals( 3, expected.size() );
+        assertEquals( "b", expected.get( 0 ).getArtifactId() );
+        assertEquals( "e", expected.get( 1 ).getArtifactId() );
+        assertEquals( "a", expected.get( 2 ).getArtifactId() );
+        assertEquals( expected, new ArrayList<Artifact>( fa.compile().filter( artifacts ) ) );
+    }
+
+    public void testCompiledScopeFilterKeepsNoState() throws ArtifactFilterException
+    {
+        final int[] idRequests = new int[1];
+        DefaultArtifactHandler handler = new DefaultArtifactHandler( "jar" );
+        Set<Artifact> artifacts = new LinkedHashSet<Artifact>();
+        String[] scopes = { Artifact.SCOPE_COMPILE, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_RUNTIME,
+            Artifact.SCOPE_TEST, Artifact.SCOPE_SYSTEM, null };
+        for ( int i = 0; i < scopes.length; i++ )
+        {
+            artifacts.add( new DefaultArtifact( "g", "a" + i, VersionRange.createFromVersion( "1.0" ), scopes[i],
+                                                "jar", null, handler )
+            {
+                @Override
+                public String getId()
+                {
+                    idRequests[0]++;
+                    return super.getId();
+                }
+
+                @Override
+                public String getDependencyConflictId()
+                {
+                    idRequests[0]++;
+                    return super.getDependencyConflictId();
+                }
+            } );
+        }
+
+        for ( ScopeFilter filter : new ScopeFilter[] { new ScopeFilter( "compile", null ),
+            new ScopeFilter( "runtime", null ), new ScopeFilter( "test", null ), new ScopeFilter( null, "compile" ),
+            new ScopeFilter( null, "runtime" ) } )
+        {
+            Set<Artifact> expected = filter.filter( artifacts );
+
+            FilterArtifacts fa = new FilterArtifacts();
+            fa.addFilter( filter );
+            ArtifactsFilter compiled = fa.compile();
+            idRequests[0] = 0;
+            for ( int i = 0; i < 10000; i++ )
+            {
+                assertEquals( expected, compiled.filter( artifacts ) );
+            }
+            // the compiled filter compares scopes and records no ids of filtered artifacts
+            assertEquals( 0, idRequests[0] );
+        }
+    }
+
+    public void testCompiledFilterInvalidScope() throws ArtifactFilterException
+    {
+        FilterArtifacts fa = new FilterArtifacts();
+        fa.addFilter( new ScopeFilter( "invalid", null ) );
+        try
+        {
+            fa.compile();
+            fail( "Expected an ArtifactFilterException" );
+        }
+        catch ( ArtifactFilterException e )
+        {
+            // expected
+        }
+    }
+
 }
@@ -19,6 +19,7 @@ package org.apache.maven.shared.artifact.filter.resolve.transform;
  * under the License.
  */
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -174,6 +175,39 @@ public class EclipseAetherFilterTransformerTest
         assertFalse( dependencyFilter.accept( newDependencyNode( "g:a:1.0", "compile" ), null ) );
     }
     
+    @Test
+    public void testTransformAbstractFilterDecidesOncePerDependency() throws Exception
+    {
+        final int[] calls = new int[1];
+        AbstractFilter snapshotFilter = new AbstractFilter()
+        {
+            @Override
+            public boolean accept( Node node, List<Node> parents )
+            {
+                calls[0]++;
+                return ArtifactUtils.isSnapshot( node.getDependency().getVersion() );
+            }
+        };
+
+        DependencyFilter dependencyFilter = snapshotFilter.transform( transformer );
+
+        assertTrue( dependencyFilter.accept( newDependencyNode( "g:a:1.0-SNAPSHOT", "compile" ), null ) );
+        assertTrue( dependencyFilter.accept( newDependencyNode( "g:a:1.0-SNAPSHOT", "compile" ), null ) );
+        assertEquals( 1, calls[0] );
+
+        assertTrue( dependencyFilter.accept( newDependencyNode( "g:a:1.0-SNAPSHOT", "test" ), null ) );
+        assertFalse( dependencyFilter.accept( newDependencyNode( "g:a:1.0", "compile" ), null ) );
+        assertEquals( 3, calls[0] );
+
+        for ( int i = 0; i < 5000; i++ )
+        {
+            dependencyFilter.accept( newDependencyNode( "g:b:" + i, "compile" ), null );
+        }
+        int decided = calls[0];
+        dependencyFilter.accept( newDependencyNode( "g:b:4999", "compile" ), null );
+        assertEquals( "decisions beyond the bound are not remembered", decided + 1, calls[0] );
+    }
+
     private DependencyNode newDependencyNode( String string, String scope )
     {
         return new DefaultDependencyNode( new Dependency( new DefaultArtifact( string ), scope ) );
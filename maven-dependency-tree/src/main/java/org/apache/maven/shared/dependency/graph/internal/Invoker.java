@@ -20,6 +20,11 @@ package org.apache.maven.shared.dependency.graph.internal;
  */
 
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 
@@ -28,11 +33,38 @@ import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
  */
 final class Invoker
 {
+    /**
+     * The methods looked up so far, by class and signature.
+     */
+    private static final ConcurrentMap<List<Object>, Method> METHODS =
+        new ConcurrentHashMap<List<Object>, Method>();
+
     private Invoker()
     {
         // do not instantiate
     }
 
+    /**
+     * Same as {@link Class#getMethod(String, Class...)}, but every method is looked up only once, since these methods
+     * are invoked for every single artifact or dependency.
+     */
+    private static Method getMethod( Class<?> objectClazz, String method, Class<?>... parameterTypes )
+        throws NoSuchMethodException
+    {
+        Object[] signature = new Object[parameterTypes.length + 2];
+        signature[0] = objectClazz;
+        signature[1] = method;
+        System.arraycopy( parameterTypes, 0, signature, 2, parameterTypes.length );
+        List<Object> key = Arrays.asList( signature );
+        Method result = METHODS.get( key );
+        if ( result == null )
+        {
+            result = objectClazz.getMethod( method, parameterTypes );
+            METHODS.putIfAbsent( key, result );
+        }
+        return result;
+    }
+
     public static Object invoke( Object object, String method )
         throws DependencyGraphBuilderException
     {
@@ -44,7 +76,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( method ).invoke( object );
+            return getMethod( objectClazz, method ).invoke( object );
         }
         catch ( IllegalAccessException e )
         {
@@ -66,7 +98,7 @@ final class Invoker
         try
         {
             final Class<?> objectClazz = object.getClass();
-            return objectClazz.getMethod( method, clazz ).invoke( object, arg );
+            return getMethod( objectClazz, method, clazz ).invoke( object, arg );
         }
         catch ( IllegalAccessException e )
         {
@@ -87,7 +119,7 @@ final class Invoker
     {
         try
         {
-            return objectClazz.getMethod( staticMethod, argClazz ).invoke( null, arg );
+            return getMethod( objectClazz, staticMethod, argClazz ).invoke( null, arg );
         }
         catch ( IllegalAccessException e )
         {
@@ -0,0 +1,244 @@
+package org.apache.maven.shared.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A text with <code>${key}</code> and <code>$key</code> variables, compiled once so that it can be rendered many
+ * times with the rules of {@link StringUtils#interpolate(String, Map)}. The variables are found in a single pass over
+ * the text and looked up in the namespace, replaced values are not interpolated again. A <code>$key</code> variable
+ * is replaced by the longest key without spaces the text continues with. Variables without a value are kept.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ *
+ * @since 3.2.1
+ */
+public final class StringTemplate
+{
+    private final String template;
+
+    /**
+     * The positions of the <code>'$'</code> characters.
+     */
+    private final int[] starts;
+
+    /**
+     * The end of the <code>${key}</code> variables, exclusive.
+     */
+    private final int[] ends;
+
+    /**
+     * The keys of the <code>${key}</code> variables, <code>null</code> for a <code>$key</code> variable.
+     */
+    private final String[] keys;
+
+    private StringTemplate( String template, int[] starts, int[] ends, String[] keys )
+    {
+        this.template = template;
+        this.starts = starts;
+        this.ends = ends;
+        this.keys = keys;
+    }
+
+    /**
+     * @param template The text with variables.
+     * @return The compiled template.
+     */
+    @Nonnull public static StringTemplate compile( @Nonnull String template )
+    {
+        List<Integer> starts = new ArrayList<Integer>();
+        List<Integer> ends = new ArrayList<Integer>();
+        List<String> keys = new ArrayList<String>();
+
+        for ( int start = template.indexOf( '$' ); start >= 0; start = template.indexOf( '$', start + 1 ) )
+        {
+            int end = -1;
+            String key = null;
+            if ( start + 1 < template.length() && template.charAt( start + 1 ) == '{' )
+            {
+                int close = template.indexOf( '}', start + 2 );
+                if ( close >= 0 )
+                {
+                    end = close + 1;
+                    key = template.substring( start + 2, close );
+                }
+            }
+            starts.add( start );
+            ends.add( end );
+            keys.add( key );
+        }
+
+        int[] startArray = new int[starts.size()];
+        int[] endArray = new int[ends.size()];
+        for ( int i = 0; i < startArray.length; i++ )
+        {
+            startArray[i] = starts.get( i );
+            endArray[i] = ends.get( i );
+        }
+        return new StringTemplate( template, startArray, endArray, keys.toArray( new String[keys.size()] ) );
+    }
+
+    /**
+     * @param namespace The namespace which contains the replacements, keys are compared by their string value.
+     * @return The rendered text.
+     * @throws NullPointerException if the namespace contains a <code>null</code> value.
+     */
+    @Nonnull public String render( @Nonnull Map<?, ?> namespace )
+    {
+        return render( new Namespace( namespace ) );
+    }
+
+    String render( Namespace namespace )
+    {
+        if ( starts.length == 0 )
+        {
+            return template;
+        }
+
+        StringBuilder result = null;
+        int pos = 0;
+        for ( int i = 0; i < starts.length; i++ )
+        {
+            int start = starts[i];
+            if ( start < pos )
+            {
+                // part of a replaced variable
+                continue;
+            }
+
+            String value = null;
+            int end = -1;
+            if ( keys[i] != null )
+            {
+                value = namespace.get( keys[i] );
+                end = ends[i];
+            }
+            if ( value == null )
+            {
+                String key = namespace.matchName( template, start + 1 );
+                if ( key != null )
+                {
+                    value = namespace.get( key );
+                    end = start + 1 + key.length();
+                }
+            }
+
+            if ( value != null )
+            {
+                if ( result == null )
+                {
+                    result = new StringBuilder( template.length() + 16 * starts.length );
+                }
+                result.append( template, pos, start ).append( value );
+                pos = end;
+            }
+        }
+
+        if ( result == null )
+        {
+            return template;
+        }
+        return result.append( template, pos, template.length() ).toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return template;
+    }
+
+    /**
+     * The string values of a namespace, indexed for the lookup of variables.
+     */
+    static final class Namespace
+    {
+        private final Map<String, String> values;
+
+        /**
+         * The distinct lengths of the keys without spaces, longest first.
+         */
+        private final int[] nameLengths;
+
+        Namespace( Map<?, ?> namespace )
+        {
+            values = new HashMap<String, String>( namespace.size() * 4 / 3 + 1 );
+            BitSet lengths = new BitSet();
+
+            for ( Map.Entry<?, ?> entry : namespace.entrySet() )
+            {
+                String key = entry.getKey().toString();
+
+                Object obj = entry.getValue();
+
+                if ( obj == null )
+                {
+                    throw new NullPointerException( "The value of the key '" + key + "' is null." );
+                }
+
+                if ( !values.containsKey( key ) )
+                {
+                    values.put( key, obj.toString() );
+                    if ( !key.contains( " " ) )
+                    {
+                        lengths.set( key.length() );
+                    }
+                }
+            }
+
+            nameLengths = new int[lengths.cardinality()];
+            int i = nameLengths.length;
+            for ( int length = lengths.nextSetBit( 0 ); length >= 0; length = lengths.nextSetBit( length + 1 ) )
+            {
+                nameLengths[--i] = length;
+            }
+        }
+
+        String get( String key )
+        {
+            return values.get( key );
+        }
+
+        /**
+         * @return The longest key without spaces the text continues with at the given offset, or <code>null</code>.
+         */
+        String matchName( String text, int offset )
+        {
+            for ( int length : nameLengths )
+            {
+                if ( offset + length <= text.length() )
+                {
+                    String key = text.substring( offset, offset + length );
+                    if ( values.containsKey( key ) )
+                    {
+                        return key;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -2095,7 +2095,9 @@ public class StringUtils
     /**
      * Fill all 'variables' in the given text with the values from the map.
      * Any text looking like '${key}' will get replaced by the value stored
-     * in the namespace map under the 'key'.
+     * in the namespace map under the 'key'. The text is scanned once, replaced
+     * values are not interpolated again. Use {@link StringTemplate} to render
+     * the same text many times.
      *
      * @param text The text where replacements will be searched for.
      * @param namespace The namespace which contains the replacements.
@@ -2103,27 +2105,12 @@ public class StringUtils
      */
     public static String interpolate( String text, @Nonnull Map<?, ?> namespace )
     {
-        for ( Map.Entry<?, ?> entry : namespace.entrySet() )
+        StringTemplate.Namespace values = new StringTemplate.Namespace( namespace );
+        if ( text == null )
         {
-            String key = entry.getKey().toString();
-
-            Object obj = entry.getValue();
-
-            if ( obj == null )
-            {
-                throw new NullPointerException( "The value of the key '" + key + "' is null." );
-            }
-
-            String value = obj.toString();
-
-            text = replace( text, "${" + key + "}", value );
-
-            if ( !key.contains( " " ) )
-            {
-                text = replace( text, "$" + key, value );
-            }
+            return null;
         }
-        return text;
+        return StringTemplate.compile( text ).render( values );
     }
 
     /**
@@ -0,0 +1,87 @@
+package org.apache.maven.shared.utils.cli;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Writes the consumed output to a channel, for example the {@link java.nio.channels.FileChannel} of an output file.
+ * Pumped chunks are written as they are, pumped lines are encoded and terminated by the line separator.
+ *
+ * @since 3.2.1
+ */
+public class ChannelStreamConsumer
+    implements StreamConsumer, StreamChunkConsumer
+{
+    private static final String LS = System.getProperty( "line.separator", "\n" );
+
+    private final WritableByteChannel channel;
+
+    private final Charset charset;
+
+    /**
+     * @param channel {@link WritableByteChannel}
+     */
+    public ChannelStreamConsumer( WritableByteChannel channel )
+    {
+        this( channel, Charset.defaultCharset() );
+    }
+
+    /**
+     * @param channel {@link WritableByteChannel}
+     * @param charset The charset used to encode lines.
+     */
+    public ChannelStreamConsumer( WritableByteChannel channel, Charset charset )
+    {
+        super();
+        this.channel = channel;
+        this.charset = charset;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void consumeChunk( byte[] buffer, int offset, int length ) throws IOException
+    {
+        write( ByteBuffer.wrap( buffer, offset, length ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void consumeLine( String line ) throws IOException
+    {
+        write( charset.encode( line + LS ) );
+    }
+
+    private void write( ByteBuffer bytes ) throws IOException
+    {
+        while ( bytes.hasRemaining() )
+        {
+            channel.write( bytes );
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -74,14 +75,9 @@ public abstract class CommandLineUtils
     }
 
     /**
-     * Number of milliseconds per second.
+     * The size of the chunks passed to a {@link StreamChunkConsumer}.
      */
-    private static final long MILLIS_PER_SECOND = 1000L;
-
-    /**
-     * Number of nanoseconds per second.
-     */
-    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final int STREAM_CHUNK_SIZE = 8192;
 
     /**
      * @param cl The command line {@link Commandline}
@@ -244,23 +240,7 @@ public abstract class CommandLineUtils
 
         final Process p = cl.execute();
 
-        final Thread processHook = new Thread()
-        {
-
-            {
-                this.setName( "CommandLineUtils process shutdown hook" );
-                this.setContextClassLoader( null );
-            }
-
-            @Override
-            public void run()
-            {
-                p.destroy();
-            }
-
-        };
-
-        ShutdownHookUtils.addShutDownHook( processHook );
+        ProcessSupport.register( p );
 
         return new CommandLineCallable()
         {
@@ -277,14 +257,14 @@ public abstract class CommandLineUtils
                     if ( systemIn != null )
                     {
                         inputFeeder = new StreamFeeder( systemIn, p.getOutputStream() );
-                        inputFeeder.start();
+                        ProcessSupport.execute( inputFeeder );
                     }
 
-                    outputPumper = new StreamPumper( p.getInputStream(), systemOut );
-                    outputPumper.start();
+                    outputPumper = createStreamPumper( p.getInputStream(), systemOut );
+                    ProcessSupport.execute( outputPumper );
 
-                    errorPumper = new StreamPumper( p.getErrorStream(), systemErr );
-                    errorPumper.start();
+                    errorPumper = createStreamPumper( p.getErrorStream(), systemErr );
+                    ProcessSupport.execute( errorPumper );
 
                     int returnValue;
                     if ( timeoutInSeconds <= 0 )
@@ -293,16 +273,7 @@ public abstract class CommandLineUtils
                     }
                     else
                     {
-                        final long now = System.nanoTime();
-                        final long timeout = now + NANOS_PER_SECOND * timeoutInSeconds;
-                        while ( isAlive( p ) && ( System.nanoTime() < timeout ) )
-                        {
-                            // The timeout is specified in seconds. Therefore we must not sleep longer than one second
-                            // but we should sleep as long as possible to reduce the number of iterations performed.
-                            Thread.sleep( MILLIS_PER_SECOND - 1L );
-                        }
-
-                        if ( isAlive( p ) )
+                        if ( !ProcessSupport.waitFor( p, timeoutInSeconds, TimeUnit.SECONDS ) )
                         {
                             throw new InterruptedException( String.format( "Process timed out after %d seconds.",
                                                                            timeoutInSeconds ) );
@@ -392,11 +363,11 @@ public abstract class CommandLineUtils
                     }
                     finally
                     {
-                        ShutdownHookUtils.removeShutdownHook( processHook );
+                        ProcessSupport.unregister( p );
 
                         try
                         {
-                            processHook.run();
+                            p.destroy();
                         }
                         finally
                         {
@@ -412,6 +383,18 @@ public abstract class CommandLineUtils
         };
     }
 
+    /**
+     * Lines are only split for consumers which cannot consume raw bytes.
+     */
+    private static StreamPumper createStreamPumper( InputStream in, StreamConsumer consumer )
+    {
+        if ( consumer instanceof StreamChunkConsumer )
+        {
+            return new StreamPumper( in, (StreamChunkConsumer) consumer, STREAM_CHUNK_SIZE );
+        }
+        return new StreamPumper( in, consumer );
+    }
+
     /**
      * Gets the shell environment variables for this process. Note that the returned mapping from variable names to
      * values will always be case-sensitive regardless of the platform, i.e. <code>getSystemEnvVars().get("path")</code>
@@ -442,24 +425,6 @@ public abstract class CommandLineUtils
         return ensureCaseSensitivity( envs, caseSensitive );
     }
 
-    private static boolean isAlive( Process p )
-    {
-        if ( p == null )
-        {
-            return false;
-        }
-
-        try
-        {
-            p.exitValue();
-            return false;
-        }
-        catch ( IllegalThreadStateException e )
-        {
-            return true;
-        }
-    }
-
     /**
      * @param toProcess The command line to translate.
      * @return The array of translated parts.
@@ -0,0 +1,246 @@
+package org.apache.maven.shared.utils.cli;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The resources shared by all processes executed by {@link CommandLineUtils}: the threads pumping the streams of the
+ * processes, a single shutdown hook destroying the processes still running and waiting for a process with a timeout.
+ * Newer JDK features are used if available.
+ */
+final class ProcessSupport
+{
+    /**
+     * The longest time to sleep between two checks whether a process has terminated, if the JDK cannot wait for a
+     * process with a timeout.
+     */
+    private static final long MAX_POLL_MILLIS = 999L;
+
+    private static final Method WAIT_FOR_TIMEOUT;
+
+    private static final Set<Process> PROCESSES =
+        Collections.newSetFromMap( new ConcurrentHashMap<Process, Boolean>() );
+
+    /**
+     * The shutdown hook destroying the registered processes, only added while there are any.
+     */
+    private static Thread shutdownHook;
+
+    static
+    {
+        Method waitFor;
+        try
+        {
+            // Java 8
+            waitFor = Process.class.getMethod( "waitFor", long.class, TimeUnit.class );
+        }
+        catch ( NoSuchMethodException e )
+        {
+            waitFor = null;
+        }
+        WAIT_FOR_TIMEOUT = waitFor;
+    }
+
+    private ProcessSupport()
+    {
+        // utility class
+    }
+
+    /**
+     * Runs a stream handler on a shared thread, instead of starting a thread per stream.
+     *
+     * @param handler The feeder or pumper.
+     */
+    static void execute( Runnable handler )
+    {
+        ExecutorHolder.EXECUTOR.execute( handler );
+    }
+
+    /**
+     * Waits for a process to terminate, but no longer than the timeout.
+     *
+     * @param p The process.
+     * @param timeout The timeout.
+     * @param unit The unit of the timeout.
+     * @return <code>true</code> if the process has terminated, <code>false</code> if the timeout elapsed before.
+     * @throws InterruptedException if the current thread is interrupted.
+     */
+    static boolean waitFor( Process p, long timeout, TimeUnit unit )
+        throws InterruptedException
+    {
+        if ( WAIT_FOR_TIMEOUT != null )
+        {
+            try
+            {
+                return (Boolean) WAIT_FOR_TIMEOUT.invoke( p, timeout, unit );
+            }
+            catch ( InvocationTargetException e )
+            {
+                if ( e.getCause() instanceof InterruptedException )
+                {
+                    throw (InterruptedException) e.getCause();
+                }
+                throw new IllegalStateException( e.getCause() );
+            }
+            catch ( IllegalAccessException e )
+            {
+                throw new IllegalStateException( e );
+            }
+        }
+
+        // short processes are noticed quickly, long running ones are not checked too often
+        long deadline = System.nanoTime() + unit.toNanos( timeout );
+        long sleep = 1L;
+        while ( !hasTerminated( p ) )
+        {
+            long remaining = TimeUnit.NANOSECONDS.toMillis( deadline - System.nanoTime() );
+            if ( remaining <= 0L )
+            {
+                return false;
+            }
+            Thread.sleep( Math.min( sleep, remaining ) );
+            sleep = Math.min( sleep * 2L, MAX_POLL_MILLIS );
+        }
+        return true;
+    }
+
+    private static boolean hasTerminated( Process p )
+    {
+        try
+        {
+            p.exitValue();
+            return true;
+        }
+        catch ( IllegalThreadStateException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Registers a process to be destroyed when the JVM shuts down before it has been unregistered.
+     *
+     * @param p The process.
+     */
+    static void register( Process p )
+    {
+        synchronized ( PROCESSES )
+        {
+            if ( PROCESSES.isEmpty() )
+            {
+                shutdownHook = new Thread( new ProcessDestroyer(), "CommandLineUtils process shutdown hook" );
+                shutdownHook.setContextClassLoader( null );
+                ShutdownHookUtils.addShutDownHook( shutdownHook );
+            }
+            PROCESSES.add( p );
+        }
+    }
+
+    /**
+     * The shutdown hook is removed with the last running process, so the hook does not keep the class loader of this
+     * class alive once no process is running, for example in embedded Maven where plugin realms come and go.
+     *
+     * @param p The process, which is no longer destroyed on shutdown.
+     */
+    static void unregister( Process p )
+    {
+        synchronized ( PROCESSES )
+        {
+            if ( PROCESSES.remove( p ) && PROCESSES.isEmpty() )
+            {
+                ShutdownHookUtils.removeShutdownHook( shutdownHook );
+                shutdownHook = null;
+            }
+        }
+    }
+
+    private static final class ProcessDestroyer
+        implements Runnable
+    {
+        public void run()
+        {
+            for ( Process process : PROCESSES )
+            {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * The executor is only created once a process is executed.
+     */
+    private static final class ExecutorHolder
+    {
+        private static final Executor EXECUTOR = createExecutor();
+
+        private static Executor createExecutor()
+        {
+            try
+            {
+                // Java 21
+                Method newVirtualThreadPerTaskExecutor =
+                    Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+                return (Executor) newVirtualThreadPerTaskExecutor.invoke( null );
+            }
+            catch ( NoSuchMethodException e )
+            {
+                // platform threads
+            }
+            catch ( IllegalAccessException e )
+            {
+                // platform threads
+            }
+            catch ( InvocationTargetException e )
+            {
+                // platform threads
+            }
+
+            // every stream needs its own thread while it is pumped, idle threads are kept for the next process
+            return new ThreadPoolExecutor( 0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                                           new StreamHandlerThreadFactory() );
+        }
+    }
+
+    private static final class StreamHandlerThreadFactory
+        implements ThreadFactory
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread( Runnable r )
+        {
+            Thread thread = new Thread( r, "CommandLineUtils stream handler " + count.incrementAndGet() );
+            thread.setDaemon( true );
+            thread.setContextClassLoader( null );
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.apache.maven.shared.utils.cli;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+
+/**
+ * Works in concert with the StreamPumper class to allow implementations to gain access to the raw bytes being
+ * "Pumped", without decoding them and splitting them into lines.
+ * <p/>
+ * A {@link StreamConsumer} which also implements this interface is passed the raw bytes by {@link CommandLineUtils}
+ * instead of lines.
+ * <p/>
+ * Please note that implementations of this interface can be expected to be
+ * called from arbitrary threads and must therefore be threadsafe.
+ *
+ * @since 3.2.1
+ */
+public interface StreamChunkConsumer
+{
+    /**
+     * Called when the StreamPumper pumps a chunk of bytes from the Stream. The buffer is reused for the next chunk.
+     * @param buffer The buffer holding the bytes.
+     * @param offset The offset of the first byte in the buffer.
+     * @param length The number of bytes.
+     * @throws IOException if consuming the bytes fails.
+     */
+    void consumeChunk( byte[] buffer, int offset, int length ) throws IOException;
+}
@@ -29,6 +29,9 @@ import javax.annotation.Nullable;
 
 /**
  * Class to pump the error stream during Process's runtime. Copied from the Ant built-in task.
+ * <p/>
+ * The stream is either decoded and split into lines for a {@link StreamConsumer}, or passed on in raw chunks of bytes
+ * to a {@link StreamChunkConsumer}.
  *
  * @author <a href="mailto:fvancea@maxiq.com">Florin Vancea </a>
  * @author <a href="mailto:pj@thoughtworks.com">Paul Julius </a>
@@ -40,6 +43,15 @@ public class StreamPumper
 
     private final StreamConsumer consumer;
 
+    /**
+     * The raw stream, only set for a chunk consumer.
+     */
+    private final InputStream rawIn;
+
+    private final StreamChunkConsumer chunkConsumer;
+
+    private final int chunkSize;
+
     private volatile Exception exception = null;
 
     private static final int SIZE = 1024;
@@ -72,10 +84,88 @@ public class StreamPumper
         super();
         this.in = new BufferedReader( in, SIZE );
         this.consumer = consumer;
+        this.rawIn = null;
+        this.chunkConsumer = null;
+        this.chunkSize = 0;
+    }
+
+    /**
+     * @param in {@link InputStream}
+     * @param consumer {@link StreamChunkConsumer}
+     * @param chunkSize The maximum number of bytes passed to the consumer at once.
+     * @since 3.2.1
+     */
+    public StreamPumper( InputStream in, StreamChunkConsumer consumer, int chunkSize )
+    {
+        super();
+        this.in = null;
+        this.consumer = null;
+        this.rawIn = in;
+        this.chunkConsumer = consumer;
+        this.chunkSize = chunkSize;
     }
 
     /** run it. */
     public void run()
+    {
+        if ( rawIn != null )
+        {
+            pumpChunks();
+        }
+        else
+        {
+            pumpLines();
+        }
+    }
+
+    private void pumpChunks()
+    {
+        try
+        {
+            byte[] buffer = new byte[chunkSize];
+            for ( int n = rawIn.read( buffer ); n != -1; n = rawIn.read( buffer ) )
+            {
+                try
+                {
+                    if ( exception == null && n > 0 )
+                    {
+                        consumeChunk( buffer, n );
+                    }
+                }
+                catch ( Exception t )
+                {
+                    exception = t;
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            exception = e;
+        }
+        finally
+        {
+            try
+            {
+                rawIn.close();
+            }
+            catch ( final IOException e2 )
+            {
+                if ( this.exception == null )
+                {
+                    this.exception = e2;
+                }
+            }
+
+            synchronized ( this )
+            {
+                setDone();
+
+                this.notifyAll();
+            }
+        }
+    }
+
+    private void pumpLines()
     {
         try
         {
@@ -151,6 +241,14 @@ public class StreamPumper
         return exception;
     }
 
+    private void consumeChunk( byte[] buffer, int length ) throws IOException
+    {
+        if ( chunkConsumer != null && !isDisabled() )
+        {
+            chunkConsumer.consumeChunk( buffer, 0, length );
+        }
+    }
+
     private void consumeLine( String line ) throws IOException
     {
         if ( consumer != null && !isDisabled() )
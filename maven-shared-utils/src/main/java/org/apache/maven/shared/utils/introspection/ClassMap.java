@@ -21,8 +21,8 @@ package org.apache.maven.shared.utils.introspection;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A cache of introspection information for a specific class instance.
@@ -56,9 +56,12 @@ public class ClassMap
      * Cache of Methods, or CACHE_MISS, keyed by method
      * name and actual arguments used to find it.
      */
-    private final Map<String, Object> methodCache = new Hashtable<String, Object>();
+    private final Map<String, Object> methodCache = new ConcurrentHashMap<String, Object>();
 
-    private MethodMap methodMap = new MethodMap();
+    /**
+     * Only modified by the constructor, so it can be read concurrently.
+     */
+    private final MethodMap methodMap = new MethodMap();
 
     /**
      * Standard constructor
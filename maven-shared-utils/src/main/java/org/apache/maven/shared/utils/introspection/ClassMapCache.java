@@ -0,0 +1,132 @@
+package org.apache.maven.shared.utils.introspection;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A cache of {@link ClassMap}s which can be used by concurrent threads without locking. The classes are weakly
+ * referenced and the class maps softly, because a class map references its class: a discarded class loader can be
+ * garbage collected once memory gets scarce, instead of being retained for ever.
+ */
+final class ClassMapCache
+{
+    private final ConcurrentMap<ClassKey, Reference<ClassMap>> classMaps =
+        new ConcurrentHashMap<ClassKey, Reference<ClassMap>>();
+
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+    /**
+     * @param clazz The class.
+     * @return The class map of the given class, created if necessary.
+     */
+    ClassMap get( Class<?> clazz )
+    {
+        Reference<ClassMap> reference = classMaps.get( new ClassKey( clazz, null ) );
+        ClassMap classMap = reference != null ? reference.get() : null;
+        if ( classMap != null )
+        {
+            return classMap;
+        }
+
+        expungeStaleEntries();
+
+        // concurrent threads may introspect the same class, the first one stored wins
+        classMap = new ClassMap( clazz );
+        ClassKey key = new ClassKey( clazz, queue );
+        Reference<ClassMap> newReference = new SoftReference<ClassMap>( classMap );
+        while ( true )
+        {
+            Reference<ClassMap> existing = classMaps.putIfAbsent( key, newReference );
+            if ( existing == null )
+            {
+                return classMap;
+            }
+
+            ClassMap existingClassMap = existing.get();
+            if ( existingClassMap != null )
+            {
+                return existingClassMap;
+            }
+
+            if ( classMaps.replace( key, existing, newReference ) )
+            {
+                return classMap;
+            }
+        }
+    }
+
+    /**
+     * @return The number of cached classes, including the ones of which the class map has been garbage collected.
+     */
+    int size()
+    {
+        return classMaps.size();
+    }
+
+    private void expungeStaleEntries()
+    {
+        for ( Reference<?> reference = queue.poll(); reference != null; reference = queue.poll() )
+        {
+            classMaps.remove( reference );
+        }
+    }
+
+    /**
+     * A weak reference to a class, equal to any other key of the same class.
+     */
+    private static final class ClassKey
+        extends WeakReference<Class<?>>
+    {
+        private final int hash;
+
+        ClassKey( Class<?> clazz, ReferenceQueue<Class<?>> queue )
+        {
+            super( clazz, queue );
+            this.hash = System.identityHashCode( clazz );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj == this )
+            {
+                return true;
+            }
+            if ( !( obj instanceof ClassKey ) )
+            {
+                return false;
+            }
+            Class<?> clazz = get();
+            return clazz != null && clazz == ( (ClassKey) obj ).get();
+        }
+    }
+}
@@ -21,7 +21,7 @@ package org.apache.maven.shared.utils.introspection;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -44,9 +44,10 @@ class MethodMap
     private static final int INCOMPARABLE = 2;
 
     /**
-     * Keep track of all methods with the same name.
+     * Keep track of all methods with the same name. Only modified while the owning {@link ClassMap} is constructed,
+     * so it is not synchronized.
      */
-    private final Map<String, List<Method>> methodByNameMap = new Hashtable<String, List<Method>>();
+    private final Map<String, List<Method>> methodByNameMap = new HashMap<String, List<Method>>();
 
     /**
      * Add a method to a list of methods by name.
@@ -22,9 +22,10 @@ package org.apache.maven.shared.utils.introspection;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 
 import org.apache.maven.shared.utils.StringUtils;
 import org.apache.maven.shared.utils.introspection.MethodMap.AmbiguousException;
@@ -52,11 +53,33 @@ public class ReflectionValueExtractor
     private static final Object[] OBJECT_ARGS = new Object[0];
 
     /**
-     * Use a WeakHashMap here, so the keys (Class objects) can be garbage collected.
+     * The arguments used to find the get method of a map, the key is always a <code>String</code>.
+     */
+    private static final Object[] MAPPED_ARGS = new Object[] { "" };
+
+    /**
+     * The arguments used to find the get method of a list.
+     */
+    private static final Object[] INDEXED_ARGS = new Object[] { 0 };
+
+    /**
+     * A step of a compiled expression which cannot be parsed.
+     */
+    private static final Step NULL_STEP = new Step()
+    {
+        @Override
+        Object evaluate( Object value )
+        {
+            return null;
+        }
+    };
+
+    /**
+     * The classes are weakly referenced, so the Class objects can be garbage collected.
      * This approach prevents permgen space overflows due to retention of discarded
      * classloaders.
      */
-    private static final Map<Class<?>, ClassMap> CLASS_MAPS = new WeakHashMap<Class<?>, ClassMap>();
+    private static final ClassMapCache CLASS_MAPS = new ClassMapCache();
 
     static final int EOF = -1;
 
@@ -245,6 +268,87 @@ public class ReflectionValueExtractor
         return value;
     }
 
+    /**
+     * Parses an expression once, so that it can be evaluated many times. The compiled expression follows the rules of
+     * {@link #evaluate(String, Object)} and remembers the getter of each step for the class it was last evaluated
+     * against.
+     *
+     * @param expression not null expression
+     * @return the compiled expression
+     * @since 3.2.1
+     */
+    @Nonnull public static CompiledExpression compile( @Nonnull String expression )
+    {
+        return compile( expression, true );
+    }
+
+    /**
+     * Parses an expression once, so that it can be evaluated many times. The compiled expression follows the rules of
+     * {@link #evaluate(String, Object, boolean)} and remembers the getter of each step for the class it was last
+     * evaluated against.
+     *
+     * @param expression not null expression
+     * @param trimRootToken trim root token yes/no.
+     * @return the compiled expression
+     * @since 3.2.1
+     */
+    @Nonnull public static CompiledExpression compile( @Nonnull String expression, boolean trimRootToken )
+    {
+        List<Step> steps = new ArrayList<Step>();
+
+        if ( StringUtils.isEmpty( expression ) || !Character.isJavaIdentifierStart( expression.charAt( 0 ) ) )
+        {
+            return new CompiledExpression( expression, Collections.<Step>singletonList( NULL_STEP ) );
+        }
+
+        boolean hasDots = expression.indexOf( PROPERTY_START ) >= 0;
+
+        final Tokenizer tokenizer;
+        if ( trimRootToken && hasDots )
+        {
+            tokenizer = new Tokenizer( expression );
+            tokenizer.nextPropertyName();
+            if ( tokenizer.getPosition() == EOF )
+            {
+                return new CompiledExpression( expression, Collections.<Step>singletonList( NULL_STEP ) );
+            }
+        }
+        else
+        {
+            tokenizer = new Tokenizer( "." + expression );
+        }
+
+        // same walk as evaluate, every step which cannot be parsed yields null
+        int propertyPosition = tokenizer.getPosition();
+        while ( tokenizer.peekChar() != EOF )
+        {
+            int to;
+            switch ( tokenizer.skipChar() )
+            {
+                case INDEXED_START:
+                    to = tokenizer.getPosition();
+                    steps.add( IndexedStep.create( expression, propertyPosition, to,
+                                                   tokenizer.nextToken( INDEXED_END ) ) );
+                    break;
+                case MAPPED_START:
+                    to = tokenizer.getPosition();
+                    steps.add( MappedStep.create( expression, propertyPosition, to,
+                                                  tokenizer.nextToken( MAPPED_END ) ) );
+                    break;
+                case PROPERTY_START:
+                    propertyPosition = tokenizer.getPosition();
+                    steps.add( PropertyStep.create( tokenizer.nextPropertyName() ) );
+                    break;
+                default:
+                    // could not parse expression
+                    steps.add( NULL_STEP );
+                    return new CompiledExpression( expression, steps );
+            }
+        }
+
+        return new CompiledExpression( expression, steps );
+    }
+
     private static Object getMappedValue( final String expression, final int from, final int to, final Object value,
                                           final String key )
         throws IntrospectionException
@@ -278,11 +382,16 @@ public class ReflectionValueExtractor
 
         }
 
+        throw notAMap( expression, from, to, value );
+    }
+
+    private static IntrospectionException notAMap( String expression, int from, int to, Object value )
+    {
         final String message =
             String.format( "The token '%s' at position '%d' refers to a java.util.Map, but the value "
                 + "seems is an instance of '%s'", expression.subSequence( from, to ), from, value.getClass() );
 
-        throw new IntrospectionException( message );
+        return new IntrospectionException( message );
     }
 
     private static Object getIndexedValue( final String expression, final int from, final int to, final Object value,
@@ -334,11 +443,16 @@ public class ReflectionValueExtractor
             throw new IntrospectionException( e.getTargetException() );
         }
 
+        throw notAListOrArray( expression, from, to, value );
+    }
+
+    private static IntrospectionException notAListOrArray( String expression, int from, int to, Object value )
+    {
         final String message =
             String.format( "The token '%s' at position '%d' refers to a java.util.List or an array, but the value "
                 + "seems is an instance of '%s'", expression.subSequence( from, to ), from, value.getClass() );
 
-        throw new IntrospectionException( message );
+        return new IntrospectionException( message );
     }
 
     private static Object getPropertyValue( Object value, String property )
@@ -387,15 +501,295 @@ public class ReflectionValueExtractor
 
     private static ClassMap getClassMap( Class<?> clazz )
     {
-        ClassMap classMap = CLASS_MAPS.get( clazz );
+        return CLASS_MAPS.get( clazz );
+    }
+
+    /**
+     * An expression parsed by {@link ReflectionValueExtractor#compile(String, boolean)}. Instances can be shared
+     * between threads.
+     *
+     * @since 3.2.1
+     */
+    public static final class CompiledExpression
+    {
+        private final String expression;
+
+        private final Step[] steps;
+
+        private CompiledExpression( String expression, List<Step> steps )
+        {
+            this.expression = expression;
+            this.steps = steps.toArray( new Step[steps.size()] );
+        }
+
+        /**
+         * @param root not null object
+         * @return the object defined by the expression
+         * @throws IntrospectionException if any
+         */
+        public Object evaluate( @Nullable Object root )
+            throws IntrospectionException
+        {
+            Object value = root;
+            for ( int i = 0; value != null && i < steps.length; i++ )
+            {
+                value = steps[i].evaluate( value );
+            }
+            return value;
+        }
+
+        @Override
+        public String toString()
+        {
+            return expression;
+        }
+    }
+
+    /**
+     * A single step of a compiled expression, applied to a value which is not <code>null</code>.
+     */
+    private abstract static class Step
+    {
+        abstract Object evaluate( Object value )
+            throws IntrospectionException;
+    }
+
+    /**
+     * The method found for the last class a step has been evaluated against. A <code>null</code> method means there
+     * is no such method.
+     */
+    private static final class CachedMethod
+    {
+        private final Class<?> type;
+
+        private final Method method;
+
+        CachedMethod( Class<?> type, Method method )
+        {
+            this.type = type;
+            this.method = method;
+        }
+    }
+
+    /**
+     * A step calling a method with constant arguments, which is looked up once per class.
+     */
+    private abstract static class MethodStep
+        extends Step
+    {
+        private final Object[] args;
+
+        private volatile CachedMethod cache;
+
+        MethodStep( Object[] args )
+        {
+            this.args = args;
+        }
+
+        final Object invoke( Object value )
+            throws IntrospectionException, InvocationTargetException
+        {
+            Class<?> type = value.getClass();
+            CachedMethod cached = cache;
+            if ( cached == null || cached.type != type )
+            {
+                try
+                {
+                    cached = new CachedMethod( type, findMethod( getClassMap( type ) ) );
+                }
+                catch ( AmbiguousException e )
+                {
+                    throw new IntrospectionException( e );
+                }
+                cache = cached;
+            }
+
+            if ( cached.method == null )
+            {
+                return null;
+            }
+
+            try
+            {
+                return cached.method.invoke( value, args );
+            }
+            catch ( IllegalAccessException e )
+            {
+                throw new IntrospectionException( e );
+            }
+        }
+
+        abstract Method findMethod( ClassMap classMap )
+            throws AmbiguousException;
+    }
+
+    private static final class PropertyStep
+        extends MethodStep
+    {
+        private final String getterName;
+
+        private final String booleanGetterName;
 
-        if ( classMap == null )
+        private PropertyStep( String property )
         {
-            classMap = new ClassMap( clazz );
+            super( OBJECT_ARGS );
+            String methodBase = StringUtils.capitalizeFirstLetter( property );
+            this.getterName = "get" + methodBase;
+            this.booleanGetterName = "is" + methodBase;
+        }
 
-            CLASS_MAPS.put( clazz, classMap );
+        static Step create( String property )
+        {
+            return property != null ? new PropertyStep( property ) : NULL_STEP;
         }
 
-        return classMap;
+        @Override
+        Method findMethod( ClassMap classMap )
+            throws AmbiguousException
+        {
+            Method method = classMap.findMethod( getterName );
+
+            if ( method == null )
+            {
+                // perhaps this is a boolean property??
+                method = classMap.findMethod( booleanGetterName );
+            }
+
+            return method;
+        }
+
+        @Override
+        Object evaluate( Object value )
+            throws IntrospectionException
+        {
+            try
+            {
+                return invoke( value );
+            }
+            catch ( InvocationTargetException e )
+            {
+                throw new IntrospectionException( e.getTargetException() );
+            }
+        }
+    }
+
+    private static final class MappedStep
+        extends MethodStep
+    {
+        private final String expression;
+
+        private final int from;
+
+        private final int to;
+
+        private MappedStep( String expression, int from, int to, String key )
+        {
+            super( new Object[] { key } );
+            this.expression = expression;
+            this.from = from;
+            this.to = to;
+        }
+
+        static Step create( String expression, int from, int to, String key )
+        {
+            return key != null ? new MappedStep( expression, from, to, key ) : NULL_STEP;
+        }
+
+        @Override
+        Method findMethod( ClassMap classMap )
+            throws AmbiguousException
+        {
+            return classMap.findMethod( "get", MAPPED_ARGS );
+        }
+
+        @Override
+        Object evaluate( Object value )
+            throws IntrospectionException
+        {
+            if ( !( value instanceof Map ) )
+            {
+                throw notAMap( expression, from, to, value );
+            }
+
+            try
+            {
+                return invoke( value );
+            }
+            catch ( InvocationTargetException e )
+            {
+                throw new IntrospectionException( e.getTargetException() );
+            }
+        }
+    }
+
+    private static final class IndexedStep
+        extends MethodStep
+    {
+        private final String expression;
+
+        private final int from;
+
+        private final int to;
+
+        private final int index;
+
+        private IndexedStep( String expression, int from, int to, int index )
+        {
+            super( new Object[] { index } );
+            this.expression = expression;
+            this.from = from;
+            this.to = to;
+            this.index = index;
+        }
+
+        static Step create( String expression, int from, int to, String indexStr )
+        {
+            try
+            {
+                return new IndexedStep( expression, from, to, Integer.parseInt( indexStr ) );
+            }
+            catch ( NumberFormatException e )
+            {
+                return NULL_STEP;
+            }
+        }
+
+        @Override
+        Method findMethod( ClassMap classMap )
+            throws AmbiguousException
+        {
+            // use get method on List interface
+            return classMap.findMethod( "get", INDEXED_ARGS );
+        }
+
+        @Override
+        Object evaluate( Object value )
+            throws IntrospectionException
+        {
+            if ( value.getClass().isArray() )
+            {
+                return Array.get( value, index );
+            }
+
+            if ( !( value instanceof List ) )
+            {
+                throw notAListOrArray( expression, from, to, value );
+            }
+
+            try
+            {
+                return invoke( value );
+            }
+            catch ( InvocationTargetException e )
+            {
+                // catch array index issues gracefully, otherwise release
+                if ( e.getCause() instanceof IndexOutOfBoundsException )
+                {
+                    return null;
+                }
+
+                throw new IntrospectionException( e.getTargetException() );
+            }
+        }
     }
 }
@@ -22,10 +22,11 @@ package org.apache.maven.shared.utils.reflection;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class used to instantiate an object using reflection. This utility hides many of the gory details needed to
@@ -39,8 +40,17 @@ final class Reflector
 
     private static final String GET_INSTANCE_METHOD_NAME = "getInstance";
 
-    private final Map<String, Map<String, Map<String, Member>>> classMaps =
-        new HashMap<String, Map<String, Map<String, Member>>>();
+    /**
+     * Marks a signature without matching constructor or method.
+     */
+    private static final Object NO_MEMBER = new Object();
+
+    /**
+     * The constructors and methods found so far, or {@link #NO_MEMBER}, by class and signature. Constructors use
+     * {@link #CONSTRUCTOR_METHOD_NAME} as name.
+     */
+    private final ConcurrentMap<Class<?>, Map<Signature, Object>> classMaps =
+        new ConcurrentHashMap<Class<?>, Map<Signature, Object>>();
 
     /**
      * Ensure no instances of Reflector are created...this is a utility.
@@ -299,66 +309,71 @@ final class Reflector
     public Constructor<?> getConstructor( Class<?> targetClass, Class<?>... params )
         throws ReflectorException
     {
-        Map<String, Member> constructorMap = getConstructorMap( targetClass );
+        Map<Signature, Object> constructorMap = getMemberMap( targetClass );
 
-        @SuppressWarnings( "checkstyle:magicnumber" )
-        StringBuilder key = new StringBuilder( 200 );
+        Signature signature = new Signature( CONSTRUCTOR_METHOD_NAME, params );
 
-        key.append( "(" );
+        Object member = constructorMap.get( signature );
 
-        for ( Class<?> param : params )
+        if ( member == null )
         {
-            key.append( param.getName() );
-            key.append( "," );
+            member = findConstructor( targetClass, params );
+            if ( member == null )
+            {
+                member = NO_MEMBER;
+            }
+            constructorMap.put( signature.copy(), member );
         }
 
-        if ( params.length > 0 )
+        if ( member == NO_MEMBER )
         {
-            key.setLength( key.length() - 1 );
+            StringBuilder paramKey = new StringBuilder( "(" );
+
+            for ( Class<?> param : params )
+            {
+                paramKey.append( param.getName() );
+                paramKey.append( "," );
+            }
+
+            if ( params.length > 0 )
+            {
+                paramKey.setLength( paramKey.length() - 1 );
+            }
+
+            paramKey.append( ")" );
+
+            throw new ReflectorException( "Error retrieving constructor object for: " + targetClass.getName()
+                + paramKey );
         }
 
-        key.append( ")" );
+        return (Constructor<?>) member;
+    }
 
-        Constructor<?> constructor;
+    private static Constructor<?> findConstructor( Class<?> targetClass, Class<?>... params )
+    {
+        Constructor<?> constructor = null;
 
-        String paramKey = key.toString();
+        Constructor<?>[] cands = targetClass.getConstructors();
 
-        synchronized ( paramKey.intern() )
+        for ( Constructor<?> cand : cands )
         {
-            constructor = (Constructor<?>) constructorMap.get( paramKey );
+            Class<?>[] types = cand.getParameterTypes();
 
-            if ( constructor == null )
+            if ( params.length != types.length )
             {
-                Constructor<?>[] cands = targetClass.getConstructors();
+                continue;
+            }
 
-                for ( Constructor<?> cand : cands )
+            for ( int j = 0, len2 = params.length; j < len2; j++ )
+            {
+                if ( !types[j].isAssignableFrom( params[j] ) )
                 {
-                    Class<?>[] types = cand.getParameterTypes();
-
-                    if ( params.length != types.length )
-                    {
-                        continue;
-                    }
-
-                    for ( int j = 0, len2 = params.length; j < len2; j++ )
-                    {
-                        if ( !types[j].isAssignableFrom( params[j] ) )
-                        {
-                            continue;
-                        }
-                    }
-
-                    // we got it, so store it!
-                    constructor = cand;
-                    constructorMap.put( paramKey, constructor );
+                    continue;
                 }
             }
-        }
 
-        if ( constructor == null )
-        {
-            throw new ReflectorException( "Error retrieving constructor object for: " + targetClass.getName()
-                + paramKey );
+            // we got it, so store it!
+            constructor = cand;
         }
 
         return constructor;
@@ -447,127 +462,138 @@ final class Reflector
     private Method _getMethod( Class<?> targetClass, String methodName, Class<?>... params )
         throws ReflectorException
     {
-        Map<String, Member> methodMap = getMethodMap( targetClass, methodName );
+        Map<Signature, Object> methodMap = getMemberMap( targetClass );
 
-        @SuppressWarnings( "checkstyle:magicnumber" )
-        StringBuilder key = new StringBuilder( 200 );
+        Signature signature = new Signature( methodName, params );
 
-        key.append( "(" );
+        Object member = methodMap.get( signature );
 
-        for ( Class<?> param : params )
+        if ( member == null )
         {
-            key.append( param.getName() );
-            key.append( "," );
+            member = findMethod( targetClass, methodName, params );
+            if ( member == null )
+            {
+                member = NO_MEMBER;
+            }
+            methodMap.put( signature.copy(), member );
         }
 
-        key.append( ")" );
+        return member != NO_MEMBER ? (Method) member : null;
+    }
 
-        Method method;
+    private static Method findMethod( Class<?> targetClass, String methodName, Class<?>... params )
+    {
+        Method method = null;
 
-        String paramKey = key.toString();
+        Method[] cands = targetClass.getMethods();
 
-        synchronized ( paramKey.intern() )
+        for ( Method cand : cands )
         {
-            method = (Method) methodMap.get( paramKey );
+            String name = cand.getName();
+
+            if ( !methodName.equals( name ) )
+            {
+                continue;
+            }
+
+            Class<?>[] types = cand.getParameterTypes();
 
-            if ( method == null )
+            if ( params.length != types.length )
             {
-                Method[] cands = targetClass.getMethods();
+                continue;
+            }
 
-                for ( Method cand : cands )
+            for ( int j = 0, len2 = params.length; j < len2; j++ )
+            {
+                if ( !types[j].isAssignableFrom( params[j] ) )
                 {
-                    String name = cand.getName();
-
-                    if ( !methodName.equals( name ) )
-                    {
-                        continue;
-                    }
-
-                    Class<?>[] types = cand.getParameterTypes();
-
-                    if ( params.length != types.length )
-                    {
-                        continue;
-                    }
-
-                    for ( int j = 0, len2 = params.length; j < len2; j++ )
-                    {
-                        if ( !types[j].isAssignableFrom( params[j] ) )
-                        {
-                            continue;
-                        }
-                    }
-
-                    // we got it, so store it!
-                    method = cand;
-                    methodMap.put( paramKey, method );
+                    continue;
                 }
             }
+
+            // we got it, so store it!
+            method = cand;
         }
 
         return method;
     }
 
     /**
-     * Retrieve the cache of constructors for the specified class.
+     * Retrieve the cache of constructors and methods for the specified class.
      * 
      * @param theClass the class to lookup.
-     * @return The cache of constructors.
-     * @throws ReflectorException in case of a lookup error.
+     * @return The cache of constructors and methods.
      */
-    private Map<String, Member> getConstructorMap( Class<?> theClass )
-        throws ReflectorException
+    private Map<Signature, Object> getMemberMap( Class<?> theClass )
     {
-        return getMethodMap( theClass, CONSTRUCTOR_METHOD_NAME );
+        Map<Signature, Object> memberMap = classMaps.get( theClass );
+
+        if ( memberMap == null )
+        {
+            ConcurrentMap<Signature, Object> newMemberMap = new ConcurrentHashMap<Signature, Object>();
+
+            memberMap = classMaps.putIfAbsent( theClass, newMemberMap );
+
+            if ( memberMap == null )
+            {
+                memberMap = newMemberMap;
+            }
+        }
+
+        return memberMap;
     }
 
     /**
-     * Retrieve the cache of methods for the specified class and method name.
-     * 
-     * @param theClass the class to lookup.
-     * @param methodName The name of the method to lookup.
-     * @return The cache of constructors.
+     * The name and parameter types of a constructor or method, compared by identity of the types.
      */
-    private Map<String, Member> getMethodMap( Class<?> theClass, String methodName )
+    private static final class Signature
     {
-        Map<String, Member> methodMap;
+        private final String name;
 
-        if ( theClass == null )
+        private final Class<?>[] params;
+
+        private final int hash;
+
+        Signature( String name, Class<?>[] params )
         {
-            return null;
+            this.name = name;
+            this.params = params;
+
+            int h = name.hashCode();
+            for ( Class<?> param : params )
+            {
+                h = 31 * h + param.hashCode();
+            }
+            this.hash = h;
         }
 
-        String className = theClass.getName();
+        /**
+         * @return A signature which is safe to store, the parameter types given by the caller may change.
+         */
+        Signature copy()
+        {
+            return new Signature( name, params.clone() );
+        }
 
-        synchronized ( className.intern() )
+        @Override
+        public int hashCode()
         {
-            Map<String, Map<String, Member>> classMethods = classMaps.get( className );
+            return hash;
+        }
 
-            if ( classMethods == null )
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj == this )
             {
-                classMethods = new HashMap<String, Map<String, Member>>();
-                methodMap = new HashMap<String, Member>();
-                classMethods.put( methodName, methodMap );
-
-                classMaps.put( className, classMethods );
+                return true;
             }
-            else
+            if ( !( obj instanceof Signature ) )
             {
-                String key = className + "::" + methodName;
-
-                synchronized ( key.intern() )
-                {
-                    methodMap = classMethods.get( methodName );
-
-                    if ( methodMap == null )
-                    {
-                        methodMap = new HashMap<String, Member>();
-                        classMethods.put( methodName, methodMap );
-                    }
-                }
+                return false;
             }
+            Signature other = (Signature) obj;
+            return name.equals( other.name ) && Arrays.equals( params, other.params );
         }
-
-        return methodMap;
     }
 }
@@ -19,6 +19,7 @@ package org.apache.maven.shared.utils.xml;
  * under the License.
  */
 
+import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
@@ -41,8 +42,23 @@ public class PrettyPrintXMLWriter
 
     private static final char[] DEFAULT_LINE_INDENT = new char[]{ ' ', ' ' };
 
+    /**
+     * The amount of buffered output which is written as soon as an element ends.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     private PrintWriter writer;
 
+    /**
+     * Where the output goes, either the writer or the buffer.
+     */
+    private PrintWriter out;
+
+    /**
+     * The output not written yet, <code>null</code> if every write goes to the writer immediately.
+     */
+    private CharArrayWriter buffer;
+
     private ArrayList<String> elementStack = new ArrayList<String>();
 
     private boolean processingElement = false;
@@ -162,6 +178,7 @@ public class PrettyPrintXMLWriter
     {
         super();
         this.writer = writer;
+        this.out = writer;
         this.lineIndent = lineIndent;
         this.lineSeparator = lineSeparator;
         this.encoding = encoding;
@@ -181,11 +198,11 @@ public class PrettyPrintXMLWriter
             throw new IllegalStateException( "currently processing no element" );
         }
 
-        writer.write( ' ' );
-        writer.write( key );
-        writer.write( '=' );
-        XMLEncode.xmlEncodeTextAsPCDATA( value, true, '"', writer );
-        if ( writer.checkError() )
+        out.write( ' ' );
+        out.write( key );
+        out.write( '=' );
+        XMLEncode.xmlEncodeTextAsPCDATA( value, true, '"', out );
+        if ( checkError( false ) )
         {
             throw new IOException( "Failure adding attribute '" + key + "' with value '" + value + "'" );
         }
@@ -226,6 +243,48 @@ public class PrettyPrintXMLWriter
         this.lineSeparator = lineSeparator.toCharArray();
     }
 
+    /**
+     * Buffers the output, instead of writing it to the writer and checking the writer for errors after every single
+     * write. As checking a {@link PrintWriter} for errors flushes it, this avoids a flush per attribute and text.
+     * Buffered output is written and checked when an element ends and enough output has been buffered, when the
+     * document is complete and on {@link #flush()}. Failures are therefore reported late, by one of these calls.
+     *
+     * @param buffered <code>true</code> to buffer the output.
+     * @since 3.2.1
+     */
+    public void setBuffered( boolean buffered )
+    {
+        if ( documentStarted )
+        {
+            throw new IllegalStateException( "Document headers already written!" );
+        }
+
+        if ( buffered )
+        {
+            buffer = new CharArrayWriter( BUFFER_SIZE );
+            out = new PrintWriter( buffer );
+        }
+        else
+        {
+            buffer = null;
+            out = writer;
+        }
+    }
+
+    /**
+     * Writes any buffered output and flushes the writer.
+     *
+     * @throws IOException if writing fails.
+     * @since 3.2.1
+     */
+    public void flush() throws IOException
+    {
+        if ( writeBuffer() )
+        {
+            throw new IOException( "Failure flushing." );
+        }
+    }
+
     /**
      * @param lineIndentParameter The line indent parameter.
      */
@@ -251,9 +310,9 @@ public class PrettyPrintXMLWriter
             newLine();
         }
 
-        writer.write( '<' );
-        writer.write( elementName );
-        if ( writer.checkError() )
+        out.write( '<' );
+        out.write( elementName );
+        if ( checkError( false ) )
         {
             throw new IOException( "Failure starting element '" + elementName + "'." );
         }
@@ -270,11 +329,11 @@ public class PrettyPrintXMLWriter
 
         completePreviouslyOpenedElement();
 
-        XMLEncode.xmlEncodeText( text, writer );
+        XMLEncode.xmlEncodeText( text, out );
 
         endOnSameLine = true;
         
-        if ( writer.checkError() )
+        if ( checkError( depth == 0 ) )
         {
             throw new IOException( "Failure writing text." );
         }
@@ -287,9 +346,9 @@ public class PrettyPrintXMLWriter
 
         completePreviouslyOpenedElement();
 
-        writer.write( markup );
+        out.write( markup );
 
-        if ( writer.checkError() )
+        if ( checkError( depth == 0 ) )
         {
             throw new IOException( "Failure writing markup." );
         }
@@ -302,7 +361,7 @@ public class PrettyPrintXMLWriter
         if ( processingElement )
         {
             // this means we don't have any content yet so we just add a />
-            writer.write( CLOSE_1 );
+            out.write( CLOSE_1 );
 
             processingElement = false;
         }
@@ -314,14 +373,14 @@ public class PrettyPrintXMLWriter
             }
 
             // otherwise we need a full closing tag for that element
-            writer.write( CLOSE_2 );
-            writer.write( chars );
-            writer.write( '>' );
+            out.write( CLOSE_2 );
+            out.write( chars );
+            out.write( '>' );
         }
 
         endOnSameLine = false;
 
-        if ( writer.checkError() )
+        if ( checkError( true ) )
         {
             throw new IOException( "Failure ending element." );
         }
@@ -351,43 +410,84 @@ public class PrettyPrintXMLWriter
 
     private void writeDocumentHeader()
     {
-        writer.write( "<?xml version=\"1.0\"" );
+        out.write( "<?xml version=\"1.0\"" );
 
         if ( encoding != null )
         {
-            writer.write( " encoding=\"" );
-            writer.write( encoding );
-            writer.write( '\"' );
+            out.write( " encoding=\"" );
+            out.write( encoding );
+            out.write( '\"' );
         }
 
-        writer.write( "?>" );
+        out.write( "?>" );
 
         newLine();
 
         if ( docType != null )
         {
             newLine();
-            writer.write( "<!DOCTYPE " );
-            writer.write( docType );
-            writer.write( '>' );
+            out.write( "<!DOCTYPE " );
+            out.write( docType );
+            out.write( '>' );
         }
     }
 
     private void newLine()
     {
-        writer.write( lineSeparator );
+        out.write( lineSeparator );
 
         for ( int i = 0; i < depth; i++ )
         {
-            writer.write( lineIndent );
+            out.write( lineIndent );
+        }
+    }
+
+    /**
+     * @param boundary whether an element has just been ended or content has been written outside of any element.
+     * @return <code>true</code> if writing has failed.
+     */
+    private boolean checkError( boolean boundary )
+    {
+        if ( buffer == null )
+        {
+            return writer.checkError();
+        }
+
+        // outside of the root element the document may be complete
+        if ( boundary && ( depth == 0 || buffer.size() >= BUFFER_SIZE ) )
+        {
+            return writeBuffer();
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if writing has failed.
+     */
+    private boolean writeBuffer()
+    {
+        if ( buffer != null && buffer.size() > 0 )
+        {
+            try
+            {
+                buffer.writeTo( writer );
+            }
+            catch ( IOException e )
+            {
+                // PrintWriter does not throw
+                return true;
+            }
+            buffer.reset();
         }
+        // flushes the writer
+        return writer.checkError();
     }
 
     private void completePreviouslyOpenedElement()
     {
         if ( processingElement )
         {
-            writer.write( '>' );
+            out.write( '>' );
             processingElement = false;
         }
     }
@@ -169,66 +169,63 @@ final class XMLEncode
                 n.append( quoteChar );
             }
 
+            // copy the runs of characters which need no encoding at once
+            int start = 0;
             for ( int i = 0; i < length; i++ )
             {
                 c = text.charAt( i );
+                String encoded;
                 switch ( c )
                 {
                     case '&':
-                        n.append( "&amp;" );
+                        encoded = "&amp;";
                         break;
                     case '<':
-                        n.append( "&lt;" );
+                        encoded = "&lt;";
                         break;
                     case '>': // FIX for sourceforge bug #802520 ("]]>" needs encoding)
-                        n.append( "&gt;" );
+                        encoded = "&gt;";
                         break;
                     case '"':
-                        if ( forAttribute )
-                        {
-                            n.append( "&quot;" );
-                        }
-                        else
-                        {
-                            n.append( c );
-                        }
+                        encoded = forAttribute ? "&quot;" : null;
                         break;
                     case '\'':
-                        if ( forAttribute )
-                        {
-                            n.append( "&apos;" );
-                        }
-                        else
-                        {
-                            n.append( c );
-                        }
+                        encoded = forAttribute ? "&apos;" : null;
                         break;
                     case '\r':
                         if ( forAttribute )
                         {
-                            if ( i == ( length - 1 ) || text.charAt( i + 1 ) != '\n' )
-                            {
-                                n.append( "&#13;" );
-                            }
+                            // but skip the \r in \r\n
+                            encoded = i == ( length - 1 ) || text.charAt( i + 1 ) != '\n' ? "&#13;" : "";
                         }
                         else
                         {
-                            n.append( c );
+                            encoded = null;
                         }
-                        // but skip the \r in \r\n
-
                         break;
                     case '\n':
-                        if ( forAttribute )
-                        {
-                            n.append( "&#10;" );
-                        }
+                        encoded = forAttribute ? "&#10;" : "";
                         break;
 
                     default:
-                        n.append( c );
+                        encoded = null;
                         break;
                 }
+
+                if ( encoded != null )
+                {
+                    if ( i > start )
+                    {
+                        n.write( text, start, i - start );
+                    }
+                    n.write( encoded );
+                    start = i + 1;
+                }
+            }
+
+            if ( start < length )
+            {
+                n.write( text, start, length - start );
             }
 
             if ( forAttribute )
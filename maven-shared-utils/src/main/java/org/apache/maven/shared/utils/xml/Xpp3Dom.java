@@ -46,9 +46,16 @@ public class Xpp3Dom
 
     private Map<String, String> attributes; // plexus: protected
 
-    final List<Xpp3Dom> childList; // plexus: protected
+    /**
+     * The children, <code>null</code> as long as there are none. Most nodes of a configuration are leaves.
+     */
+    private List<Xpp3Dom> childList; // plexus: protected
 
-    final Map<String, Xpp3Dom> childMap; // plexus: protected
+    /**
+     * The last child of every name, only built for nodes with many children. Smaller nodes are searched. Reading a
+     * node builds the index, so it is only published once complete, for nodes shared between reading threads.
+     */
+    private volatile Map<String, Xpp3Dom> childIndex;
 
     private Xpp3Dom parent; // plexus: protected
 
@@ -88,14 +95,17 @@ public class Xpp3Dom
     private static final String[] EMPTY_STRING_ARRAY = new String[0];
     private static final Xpp3Dom[] EMPTY_DOM_ARRAY = new Xpp3Dom[0];
 
+    /**
+     * The number of children above which the children are looked up by name in an index.
+     */
+    private static final int INDEXED_CHILD_COUNT = 8;
+
     /**
      * @param name The name of the instance.
      */
     public Xpp3Dom( String name )
     {
         this.name = name;
-        childList = new ArrayList<Xpp3Dom>();
-        childMap = new HashMap<String, Xpp3Dom>();
     }
 
     /**
@@ -116,20 +126,23 @@ public class Xpp3Dom
     {
         this.name = name;
 
-        int size = src.getChildCount();
-        childList = new ArrayList<Xpp3Dom>( size );
-        childMap = new HashMap<String, Xpp3Dom>();
-
         setValue( src.getValue() );
 
-        for ( String attributeName : src.getAttributeNames() )
+        if ( src.attributes != null )
         {
-            setAttribute( attributeName, src.getAttribute( attributeName ) );
+            for ( Map.Entry<String, String> attribute : src.attributes.entrySet() )
+            {
+                setAttribute( attribute.getKey(), attribute.getValue() );
+            }
         }
 
-        for ( Xpp3Dom xpp3Dom : src.getChildren() )
+        if ( src.childList != null )
         {
-            addChild( new Xpp3Dom( xpp3Dom ) );
+            childList = new ArrayList<Xpp3Dom>( src.childList.size() );
+            for ( Xpp3Dom xpp3Dom : src.childList )
+            {
+                addChild( new Xpp3Dom( xpp3Dom ) );
+            }
         }
     }
 
@@ -205,7 +218,7 @@ public class Xpp3Dom
      */
     public Xpp3Dom getChild( int i )
     {
-        return childList.get( i );
+        return getChildrenAsList().get( i );
     }
 
     /**
@@ -214,7 +227,36 @@ public class Xpp3Dom
      */
     public Xpp3Dom getChild( String nameParameter )
     {
-        return childMap.get( nameParameter );
+        if ( childList == null )
+        {
+            return null;
+        }
+
+        if ( childList.size() > INDEXED_CHILD_COUNT )
+        {
+            Map<String, Xpp3Dom> index = childIndex;
+            if ( index == null )
+            {
+                index = new HashMap<String, Xpp3Dom>();
+                for ( Xpp3Dom child : childList )
+                {
+                    index.put( child.getName(), child );
+                }
+                childIndex = index;
+            }
+            return index.get( nameParameter );
+        }
+
+        // the last one wins, just like in the index
+        for ( int i = childList.size() - 1; i >= 0; i-- )
+        {
+            Xpp3Dom child = childList.get( i );
+            if ( nameParameter.equals( child.getName() ) )
+            {
+                return child;
+            }
+        }
+        return null;
     }
 
     /**
@@ -223,8 +265,32 @@ public class Xpp3Dom
     public void addChild( Xpp3Dom child )
     {
         child.setParent( this );
+        appendChild( child );
+    }
+
+    /**
+     * Adds a child which keeps its current parent, as it is shared with another tree. The child is not modified, so
+     * several threads may share it at the same time.
+     *
+     * @param child The child to be added.
+     */
+    void addSharedChild( Xpp3Dom child )
+    {
+        appendChild( child );
+    }
+
+    private void appendChild( Xpp3Dom child )
+    {
+        if ( childList == null )
+        {
+            childList = new ArrayList<Xpp3Dom>( 4 );
+        }
         childList.add( child );
-        childMap.put( child.getName(), child );
+        Map<String, Xpp3Dom> index = childIndex;
+        if ( index != null )
+        {
+            index.put( child.getName(), child );
+        }
     }
 
     /**
@@ -236,10 +302,15 @@ public class Xpp3Dom
         return isNothing ? EMPTY_DOM_ARRAY : childList.toArray( new Xpp3Dom[childList.size()] );
     }
 
-    private List<Xpp3Dom> getChildrenList()
+    /**
+     * Unlike {@link #getChildren()} this does not copy the children.
+     *
+     * @return An unmodifiable view of the children, reflecting later changes.
+     * @since 3.2.1
+     */
+    @Nonnull public List<Xpp3Dom> getChildrenAsList()
     {
-        boolean isNothing = childList == null || childList.isEmpty();
-        return isNothing ? Collections.<Xpp3Dom>emptyList() : childList;
+        return childList == null ? Collections.<Xpp3Dom>emptyList() : Collections.unmodifiableList( childList );
     }
 
     /**
@@ -260,11 +331,15 @@ public class Xpp3Dom
         }
         else
         {
-            ArrayList<Xpp3Dom> children = new ArrayList<Xpp3Dom>();
+            List<Xpp3Dom> children = Collections.emptyList();
             for ( Xpp3Dom aChildList : childList )
             {
                 if ( nameParameter.equals( aChildList.getName() ) )
                 {
+                    if ( children.isEmpty() )
+                    {
+                        children = new ArrayList<Xpp3Dom>( 2 );
+                    }
                     children.add( aChildList );
                 }
             }
@@ -290,11 +365,22 @@ public class Xpp3Dom
      */
     public void removeChild( int i )
     {
-        Xpp3Dom child = childList.remove( i );
-        childMap.values().remove( child );
+        Xpp3Dom child = getChildrenAsList().get( i );
+        childList.remove( i );
+        // rebuilt on demand, an earlier child of the same name may take the place of the removed one
+        childIndex = null;
         child.setParent( null );
     }
 
+    /**
+     * Removes all children, without resetting their parent.
+     */
+    void clearChildren()
+    {
+        childList = null;
+        childIndex = null;
+    }
+
     /**
      * @return The current parent.
      */
@@ -359,7 +445,7 @@ public class Xpp3Dom
         return !( name == null ? dom.name != null : !name.equals( dom.name ) )
             && !( value == null ? dom.value != null : !value.equals( dom.value ) )
             && !( attributes == null ? dom.attributes != null : !attributes.equals( dom.attributes ) )
-            && !( childList == null ? dom.childList != null : !childList.equals( dom.childList ) );
+            && getChildrenAsList().equals( dom.getChildrenAsList() );
     }
 
     /** {@inheritDoc} */
@@ -369,7 +455,7 @@ public class Xpp3Dom
         result = 37 * result + ( name != null ? name.hashCode() : 0 );
         result = 37 * result + ( value != null ? value.hashCode() : 0 );
         result = 37 * result + ( attributes != null ? attributes.hashCode() : 0 );
-        result = 37 * result + ( childList != null ? childList.hashCode() : 0 );
+        result = 37 * result + getChildrenAsList().hashCode();
         return result;
     }
 
@@ -433,6 +519,6 @@ public class Xpp3Dom
     /** {@inheritDoc} */
     public Iterator<Xpp3Dom> iterator()
     {
-        return getChildrenList().iterator();
+        return getChildrenAsList().iterator();
     }
 }
@@ -26,10 +26,17 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.annotation.Nonnull;
 import javax.annotation.WillClose;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -46,6 +53,23 @@ public class Xpp3DomBuilder
 {
     private static final boolean DEFAULT_TRIM = true;
 
+    /**
+     * Parsers are expensive to create, so every thread keeps the one it used last. Only parsers loaded by the bootstrap
+     * or system class loader are kept, see {@link #isCacheable(Object)}.
+     */
+    private static final ThreadLocal<XMLReader> PARSERS = new ThreadLocal<XMLReader>();
+
+    /**
+     * Not every {@link XMLInputFactory} can be shared between threads. Only factories loaded by the bootstrap or
+     * system class loader are kept, see {@link #isCacheable(Object)}.
+     */
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORIES = new ThreadLocal<XMLInputFactory>();
+
+    /**
+     * Set on parsers which are kept for reuse, so they do not retain the last built dom.
+     */
+    private static final DefaultHandler NO_CONTENT_HANDLER = new DefaultHandler();
+
     /**
      * @param reader {@link Reader}
      * @return the built dom.
@@ -116,15 +140,155 @@ public class Xpp3DomBuilder
         }
     }
 
+    /**
+     * Builds only the elements at the given path, streaming over the rest of the document without building it.
+     *
+     * @param reader {@link Reader}
+     * @param trim true/false.
+     * @param path The names of the elements from the root element down to the wanted elements, separated by
+     *            <code>'/'</code>, for example <code>project/build/plugins/plugin/configuration</code>. The name
+     *            <code>*</code> matches any element.
+     * @return the built doms of all matching elements, in document order.
+     * @throws XmlPullParserException in case of an error.
+     * @since 3.2.1
+     */
+    @Nonnull public static List<Xpp3Dom> buildSubtrees( @WillClose @Nonnull Reader reader, boolean trim,
+                                                       @Nonnull String path )
+        throws XmlPullParserException
+    {
+        String[] names = path.split( "/" );
+        XMLStreamReader parser = null;
+        try
+        {
+            parser = getXmlInputFactory().createXMLStreamReader( reader );
+            List<Xpp3Dom> result = new ArrayList<Xpp3Dom>();
+
+            // the open elements, of which the first matched ones match the path
+            int depth = 0;
+            int matched = 0;
+            while ( parser.hasNext() )
+            {
+                int event = parser.next();
+                if ( event == XMLStreamConstants.START_ELEMENT )
+                {
+                    if ( depth == matched && ( "*".equals( names[matched] )
+                        || names[matched].equals( parser.getLocalName() ) ) )
+                    {
+                        if ( matched + 1 == names.length )
+                        {
+                            // consumes the whole element
+                            result.add( buildSubtree( parser, trim ) );
+                            continue;
+                        }
+                        matched++;
+                    }
+                    depth++;
+                }
+                else if ( event == XMLStreamConstants.END_ELEMENT )
+                {
+                    depth--;
+                    matched = Math.min( matched, depth );
+                }
+            }
+
+            parser.close();
+            parser = null;
+            reader.close();
+            reader = null;
+            return result;
+        }
+        catch ( XMLStreamException e )
+        {
+            throw new XmlPullParserException( e );
+        }
+        catch ( SAXException e )
+        {
+            throw new XmlPullParserException( e );
+        }
+        catch ( IOException e )
+        {
+            throw new XmlPullParserException( e );
+        }
+        finally
+        {
+            if ( parser != null )
+            {
+                try
+                {
+                    parser.close();
+                }
+                catch ( XMLStreamException e )
+                {
+                    // ignore, the parse failure is reported
+                }
+            }
+            IOUtil.close( reader );
+        }
+    }
+
+    /**
+     * Feeds the element the parser is positioned at, up to and including its end, to a {@link DocHandler}.
+     */
+    private static Xpp3Dom buildSubtree( XMLStreamReader parser, boolean trim )
+        throws XMLStreamException, SAXException
+    {
+        DocHandler ch = new DocHandler( trim );
+        int level = 0;
+        int event = parser.getEventType();
+        while ( true )
+        {
+            switch ( event )
+            {
+                case XMLStreamConstants.START_ELEMENT:
+                    level++;
+                    AttributesImpl attributes = new AttributesImpl();
+                    for ( int i = 0; i < parser.getAttributeCount(); i++ )
+                    {
+                        String prefix = parser.getAttributePrefix( i );
+                        String localName = parser.getAttributeLocalName( i );
+                        String qName = prefix == null || prefix.length() == 0 ? localName : prefix + ':' + localName;
+                        attributes.addAttribute( parser.getAttributeNamespace( i ), localName, qName,
+                                                 parser.getAttributeType( i ), parser.getAttributeValue( i ) );
+                    }
+                    ch.startElement( parser.getNamespaceURI(), parser.getLocalName(), null, attributes );
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    level--;
+                    ch.endElement( parser.getNamespaceURI(), parser.getLocalName(), null );
+                    if ( level == 0 )
+                    {
+                        return ch.result;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    ch.characters( parser.getTextCharacters(), parser.getTextStart(), parser.getTextLength() );
+                    break;
+                default:
+                    break;
+            }
+            event = parser.next();
+        }
+    }
+
     private static DocHandler parseSax( @Nonnull InputSource inputSource, boolean trim )
         throws XmlPullParserException
     {
+        // reuse the parser of this thread, unless it is already in use by an enclosing parse
+        XMLReader parser = PARSERS.get();
+        PARSERS.remove();
+        boolean reusable = false;
         try
         {
+            if ( parser == null )
+            {
+                parser = createXmlReader();
+            }
             DocHandler ch = new DocHandler( trim );
-            XMLReader parser = createXmlReader();
             parser.setContentHandler( ch );
             parser.parse( inputSource );
+            reusable = true;
             return ch;
         }
         catch ( IOException e )
@@ -135,6 +299,15 @@ public class Xpp3DomBuilder
         {
             throw new XmlPullParserException( e );
         }
+        finally
+        {
+            // a parser which failed may be in an inconsistent state
+            if ( reusable && isCacheable( parser ) )
+            {
+                parser.setContentHandler( NO_CONTENT_HANDLER );
+                PARSERS.set( parser );
+            }
+        }
     }
 
 
@@ -147,22 +320,44 @@ public class Xpp3DomBuilder
             return comSunXmlReader;
         }
 
-        String key = "org.xml.sax.driver";
-        String oldParser = System.getProperty( key );
-        System.clearProperty( key ); // There's a "slight" problem with this an parallel maven: It does not work ;)
-
         try
         {
-            return org.xml.sax.helpers.XMLReaderFactory.createXMLReader();
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware( true );
+            return factory.newSAXParser().getXMLReader();
         }
-        finally
+        catch ( ParserConfigurationException e )
         {
-            if ( oldParser != null )
+            throw new SAXException( e );
+        }
+    }
+
+    private static XMLInputFactory getXmlInputFactory()
+    {
+        XMLInputFactory factory = INPUT_FACTORIES.get();
+        if ( factory == null )
+        {
+            factory = XMLInputFactory.newInstance();
+            factory.setProperty( XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE );
+            if ( isCacheable( factory ) )
             {
-                System.setProperty( key, oldParser );
+                INPUT_FACTORIES.set( factory );
             }
         }
+        return factory;
+    }
 
+    /**
+     * The factories may return an implementation from the class path of a plugin, like Xerces or Woodstox. Keeping
+     * such an instance in a thread local of a long living thread would retain the class loader of the plugin.
+     *
+     * @param implementation The parser or factory.
+     * @return <code>true</code> if the implementation may be kept by a thread.
+     */
+    private static boolean isCacheable( Object implementation )
+    {
+        ClassLoader classLoader = implementation.getClass().getClassLoader();
+        return classLoader == null || classLoader == ClassLoader.getSystemClassLoader();
     }
 
     private static XMLReader instantiate( String s )
@@ -19,10 +19,14 @@ package org.apache.maven.shared.utils.xml;
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 
@@ -100,7 +104,7 @@ public class Xpp3DomUtils
             else
             {
                 Xpp3Dom[] dominantChildren = dominant.getChildren();
-                dominant.childList.clear();
+                dominant.clearChildren();
                 for ( Xpp3Dom child : recessive )
                 {
                     dominant.addChild( new Xpp3Dom( child ) );
@@ -115,16 +119,200 @@ public class Xpp3DomUtils
         return dominant;
     }
 
+    /**
+     * Merges without modifying either input. Only the nodes which differ from the dominant tree are created, all
+     * other nodes of the result are shared with the dominant or the recessive tree. Shared nodes keep their original
+     * parent, so the result is meant to be read, not modified.
+     *
+     * @param dominant {@link Xpp3Dom}
+     * @param recessive {@link Xpp3Dom}
+     * @return Merged dom, which is the dominant one if the recessive one does not change it.
+     * @since 3.2.1
+     */
+    public static Xpp3Dom mergeShared( Xpp3Dom dominant, Xpp3Dom recessive )
+    {
+        return mergeShared( dominant, recessive, null );
+    }
+
+    /**
+     * Merges without modifying either input. Only the nodes which differ from the dominant tree are created, all
+     * other nodes of the result are shared with the dominant or the recessive tree. Shared nodes keep their original
+     * parent, so the result is meant to be read, not modified.
+     *
+     * @param dominant {@link Xpp3Dom}
+     * @param recessive {@link Xpp3Dom}
+     * @param childMergeOverride true/false.
+     * @return Merged dom, which is the dominant one if the recessive one does not change it.
+     * @since 3.2.1
+     */
+    public static Xpp3Dom mergeShared( Xpp3Dom dominant, Xpp3Dom recessive, Boolean childMergeOverride )
+    {
+        if ( dominant == null )
+        {
+            return recessive;
+        }
+        if ( recessive == null || recessive == dominant || isCombineSelfOverride( dominant ) )
+        {
+            return dominant;
+        }
+
+        String value = dominant.getValue();
+        if ( isEmpty( value ) )
+        {
+            value = recessive.getValue();
+        }
+
+        Map<String, String> attributes = null;
+        for ( String attr : recessive.getAttributeNames() )
+        {
+            if ( isEmpty( dominant.getAttribute( attr ) ) )
+            {
+                String recessiveValue = recessive.getAttribute( attr );
+                if ( !recessiveValue.equals( dominant.getAttribute( attr ) ) )
+                {
+                    if ( attributes == null )
+                    {
+                        attributes = new HashMap<String, String>();
+                    }
+                    attributes.put( attr, recessiveValue );
+                }
+            }
+        }
+
+        List<Xpp3Dom> dominantChildren = dominant.getChildrenAsList();
+        List<Xpp3Dom> children = dominantChildren;
+        if ( recessive.getChildCount() > 0 )
+        {
+            if ( isMergeChildren( dominant, childMergeOverride ) )
+            {
+                children = mergeSharedChildren( children, recessive.getChildrenAsList(), childMergeOverride );
+            }
+            else
+            {
+                List<Xpp3Dom> appended = new ArrayList<Xpp3Dom>( recessive.getChildCount() + children.size() );
+                appended.addAll( recessive.getChildrenAsList() );
+                appended.addAll( children );
+                children = appended;
+            }
+        }
+
+        if ( children == dominantChildren && attributes == null
+            && ( value == null ? dominant.getValue() == null : value.equals( dominant.getValue() ) ) )
+        {
+            return dominant;
+        }
+
+        Xpp3Dom result = new Xpp3Dom( dominant.getName() );
+        result.setValue( value );
+        for ( String attr : dominant.getAttributeNames() )
+        {
+            result.setAttribute( attr, dominant.getAttribute( attr ) );
+        }
+        if ( attributes != null )
+        {
+            for ( Map.Entry<String, String> attribute : attributes.entrySet() )
+            {
+                result.setAttribute( attribute.getKey(), attribute.getValue() );
+            }
+        }
+        for ( Xpp3Dom child : children )
+        {
+            if ( child.getParent() == null )
+            {
+                // created by this merge
+                result.addChild( child );
+            }
+            else
+            {
+                result.addSharedChild( child );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The merged children, or the dominant children themselves if none of them changed.
+     */
+    private static List<Xpp3Dom> mergeSharedChildren( List<Xpp3Dom> dominantChildren, List<Xpp3Dom> recessiveChildren,
+                                                      Boolean childMergeOverride )
+    {
+        // the dominant children by name, each one merged with the recessive child of the same name and position
+        Map<String, List<Xpp3Dom>> dominantByName = new HashMap<String, List<Xpp3Dom>>();
+        for ( Xpp3Dom dominantChild : dominantChildren )
+        {
+            List<Xpp3Dom> named = dominantByName.get( dominantChild.getName() );
+            if ( named == null )
+            {
+                named = new ArrayList<Xpp3Dom>( 2 );
+                dominantByName.put( dominantChild.getName(), named );
+            }
+            named.add( dominantChild );
+        }
+
+        Map<Xpp3Dom, Xpp3Dom> merged = new IdentityHashMap<Xpp3Dom, Xpp3Dom>();
+        Map<String, Integer> positions = new HashMap<String, Integer>();
+        List<Xpp3Dom> added = null;
+        for ( Xpp3Dom recessiveChild : recessiveChildren )
+        {
+            List<Xpp3Dom> named = dominantByName.get( recessiveChild.getName() );
+            if ( named == null )
+            {
+                if ( added == null )
+                {
+                    added = new ArrayList<Xpp3Dom>();
+                }
+                added.add( recessiveChild );
+                continue;
+            }
+
+            Integer position = positions.get( recessiveChild.getName() );
+            int index = position == null ? 0 : position;
+            if ( index < named.size() )
+            {
+                Xpp3Dom dominantChild = named.get( index );
+                Xpp3Dom mergedChild = mergeShared( dominantChild, recessiveChild, childMergeOverride );
+                if ( mergedChild != dominantChild )
+                {
+                    merged.put( dominantChild, mergedChild );
+                }
+                positions.put( recessiveChild.getName(), index + 1 );
+            }
+        }
+
+        if ( merged.isEmpty() && added == null )
+        {
+            return dominantChildren;
+        }
+
+        List<Xpp3Dom> children =
+            new ArrayList<Xpp3Dom>( dominantChildren.size() + ( added == null ? 0 : added.size() ) );
+        for ( Xpp3Dom dominantChild : dominantChildren )
+        {
+            Xpp3Dom mergedChild = merged.get( dominantChild );
+            children.add( mergedChild != null ? mergedChild : dominantChild );
+        }
+        if ( added != null )
+        {
+            children.addAll( added );
+        }
+        return children;
+    }
+
     private static Map<String, Iterator<Xpp3Dom>> getCommonChildren( Xpp3Dom dominant, Xpp3Dom recessive )
     {
         Map<String, Iterator<Xpp3Dom>> commonChildren = new HashMap<String, Iterator<Xpp3Dom>>();
 
-        for ( String childName : recessive.childMap.keySet() )
+        Set<String> childNames = new HashSet<String>();
+        for ( Xpp3Dom recessiveChild : recessive )
         {
-            List<Xpp3Dom> dominantChildren = dominant.getChildrenList( childName );
-            if ( dominantChildren.size() > 0 )
+            String childName = recessiveChild.getName();
+            if ( childNames.add( childName ) )
             {
-                commonChildren.put( childName, dominantChildren.iterator() );
+                List<Xpp3Dom> dominantChildren = dominant.getChildrenList( childName );
+                if ( dominantChildren.size() > 0 )
+                {
+                    commonChildren.put( childName, dominantChildren.iterator() );
+                }
             }
         }
         return commonChildren;
@@ -72,8 +72,7 @@ public class Xpp3DomWriter
         {
             xmlWriter.addAttribute( attributeName, dom.getAttribute( attributeName ) );
         }
-        Xpp3Dom[] children = dom.getChildren();
-        for ( Xpp3Dom aChildren : children )
+        for ( Xpp3Dom aChildren : dom )
         {
             write( xmlWriter, aChildren, escape );
         }
@@ -0,0 +1,99 @@
+package org.apache.maven.shared.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+/**
+ * Test the {@link StringTemplate} class.
+ */
+public class StringTemplateTest
+    extends Assert
+{
+
+    @Test
+    public void testRenderBracedVariables()
+    {
+        Map<String, String> variables = new HashMap<String, String>();
+        variables.put( "first name", "John" );
+        variables.put( "last", "Doe" );
+
+        StringTemplate template = StringTemplate.compile( "${first name} ${last}, ${unknown}" );
+        assertThat( template.render( variables ), is( "John Doe, ${unknown}" ) );
+
+        variables.put( "unknown", "42" );
+        assertThat( template.render( variables ), is( "John Doe, 42" ) );
+    }
+
+    @Test
+    public void testRenderNameVariables()
+    {
+        Map<String, String> variables = new HashMap<String, String>();
+        variables.put( "project", "p" );
+        variables.put( "project.version", "1.0" );
+
+        assertThat( StringTemplate.compile( "$project.version/$project.name/$projects" ).render( variables ),
+                    is( "1.0/p.name/ps" ) );
+        assertThat( StringTemplate.compile( "$$project$" ).render( variables ), is( "$p$" ) );
+    }
+
+    @Test
+    public void testRenderDoesNotInterpolateValues()
+    {
+        Map<String, String> variables = new LinkedHashMap<String, String>();
+        variables.put( "a", "${b}" );
+        variables.put( "b", "B" );
+
+        assertThat( StringTemplate.compile( "${a}${b}" ).render( variables ), is( "${b}B" ) );
+    }
+
+    @Test
+    public void testRenderWithoutVariables()
+    {
+        String text = "no variables, ${unterminated";
+        assertThat( StringTemplate.compile( text ).render( new HashMap<String, String>() ), sameInstance( text ) );
+    }
+
+    @Test
+    public void testRenderUsesStringValueOfKeys()
+    {
+        Map<Object, Object> variables = new HashMap<Object, Object>();
+        variables.put( 1, 2 );
+
+        assertThat( StringTemplate.compile( "${1} $1" ).render( variables ), is( "2 2" ) );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testRenderNullValue()
+    {
+        Map<String, String> variables = new HashMap<String, String>();
+        variables.put( "key", null );
+
+        StringTemplate.compile( "text" ).render( variables );
+    }
+}
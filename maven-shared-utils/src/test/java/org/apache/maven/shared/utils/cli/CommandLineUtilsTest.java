@@ -19,12 +19,17 @@ package org.apache.maven.shared.utils.cli;
  * under the License.
  */
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import org.apache.maven.shared.utils.Os;
+import org.apache.maven.shared.utils.io.FileUtils;
 
 import junit.framework.TestCase;
 
@@ -91,6 +96,96 @@ public class CommandLineUtilsTest
         assertCmdLineArgs( new String[] { "foo", " ' ", "bar" }, "foo \" ' \" bar" );
     }
 
+    public void testExecuteCommandLineWithTimeout()
+        throws Exception
+    {
+        if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+        {
+            return;
+        }
+
+        Commandline cl = new Commandline( "echo hello" );
+        CommandLineUtils.StringStreamConsumer out = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
+
+        assertEquals( 0, CommandLineUtils.executeCommandLine( cl, out, err, 60 ) );
+        assertEquals( "hello", out.getOutput().trim() );
+        assertEquals( "", err.getOutput() );
+    }
+
+    public void testExecuteCommandLineTimesOut()
+        throws Exception
+    {
+        if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+        {
+            return;
+        }
+
+        Commandline cl = new Commandline( "sleep 60" );
+        long start = System.currentTimeMillis();
+        try
+        {
+            CommandLineUtils.executeCommandLine( cl, new DefaultConsumer(), new DefaultConsumer(), 1 );
+            fail( "The process should have timed out" );
+        }
+        catch ( CommandLineTimeOutException e )
+        {
+            assertTrue( System.currentTimeMillis() - start < 30000L );
+        }
+    }
+
+    public void testExecuteCommandLineWithChunkConsumer()
+        throws Exception
+    {
+        if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+        {
+            return;
+        }
+
+        File file = File.createTempFile( "CommandLineUtilsTest", ".out" );
+        try
+        {
+            FileOutputStream out = new FileOutputStream( file );
+            try
+            {
+                Commandline cl = new Commandline( "printf chunk" );
+                ChannelStreamConsumer consumer = new ChannelStreamConsumer( out.getChannel() );
+                assertEquals( 0, CommandLineUtils.executeCommandLine( cl, consumer, new DefaultConsumer() ) );
+            }
+            finally
+            {
+                out.close();
+            }
+
+            // passed as is, without the line separator of a pumped line
+            assertEquals( "chunk", FileUtils.fileRead( file ) );
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    public void testStreamPumperChunks()
+        throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamPumper pumper = new StreamPumper( new ByteArrayInputStream( "line1\nline2".getBytes( "UTF-8" ) ),
+                                                new StreamChunkConsumer()
+                                                {
+                                                    public void consumeChunk( byte[] buffer, int offset, int length )
+                                                    {
+                                                        assertTrue( length <= 4 );
+                                                        out.write( buffer, offset, length );
+                                                    }
+                                                }, 4 );
+        pumper.run();
+        pumper.waitUntilDone();
+
+        assertNull( pumper.getException() );
+        assertEquals( "line1\nline2", out.toString( "UTF-8" ) );
+    }
+
     private void assertCmdLineArgs( String[] expected, String cmdLine )
         throws Exception
     {
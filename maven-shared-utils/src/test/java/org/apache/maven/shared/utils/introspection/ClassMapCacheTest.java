@@ -0,0 +1,108 @@
+package org.apache.maven.shared.utils.introspection;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+public class ClassMapCacheTest
+    extends TestCase
+{
+    private static final Class<?>[] CLASSES =
+        { String.class, ArrayList.class, LinkedList.class, HashMap.class, TreeMap.class, Integer.class, Object.class };
+
+    public void testSameClassMapForSameClass()
+    {
+        ClassMapCache cache = new ClassMapCache();
+
+        ClassMap classMap = cache.get( String.class );
+        assertSame( classMap, cache.get( String.class ) );
+        assertSame( String.class, classMap.getCachedClass() );
+        assertNotSame( classMap, cache.get( Integer.class ) );
+        assertEquals( 2, cache.size() );
+    }
+
+    public void testConcurrentAccess()
+        throws Exception
+    {
+        final ClassMapCache cache = new ClassMapCache();
+        int threadCount = Math.max( 4, Runtime.getRuntime().availableProcessors() );
+        final CountDownLatch start = new CountDownLatch( 1 );
+
+        ExecutorService executor = Executors.newFixedThreadPool( threadCount );
+        try
+        {
+            List<Future<List<ClassMap>>> futures = new ArrayList<Future<List<ClassMap>>>();
+            for ( int i = 0; i < threadCount; i++ )
+            {
+                futures.add( executor.submit( new Callable<List<ClassMap>>()
+                {
+                    public List<ClassMap> call()
+                        throws Exception
+                    {
+                        start.await();
+                        List<ClassMap> classMaps = new ArrayList<ClassMap>();
+                        for ( int round = 0; round < 1000; round++ )
+                        {
+                            for ( Class<?> clazz : CLASSES )
+                            {
+                                ClassMap classMap = cache.get( clazz );
+                                Method method = classMap.findMethod( "toString" );
+                                assertNotNull( method );
+                                if ( round == 0 )
+                                {
+                                    classMaps.add( classMap );
+                                }
+                            }
+                        }
+                        return classMaps;
+                    }
+                } ) );
+            }
+            start.countDown();
+
+            List<ClassMap> expected = futures.get( 0 ).get();
+            for ( Future<List<ClassMap>> future : futures )
+            {
+                List<ClassMap> classMaps = future.get();
+                for ( int i = 0; i < CLASSES.length; i++ )
+                {
+                    assertSame( expected.get( i ), classMaps.get( i ) );
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertEquals( CLASSES.length, cache.size() );
+    }
+}
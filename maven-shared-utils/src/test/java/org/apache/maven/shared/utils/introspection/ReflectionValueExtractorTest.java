@@ -21,6 +21,7 @@ package org.apache.maven.shared.utils.introspection;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -274,6 +275,52 @@ public class ReflectionValueExtractorTest
         assertEquals( "c2", ((Artifact) ReflectionValueExtractor.evaluate("project.artifactMap(g2:a2:c2)", project)).getClassifier() );
     }
 
+    public void testCompiledExpression()
+        throws Exception
+    {
+        String[] expressions =
+            { "project.build", "project.scm.connection", "project.dependencies[1].artifactId",
+                "project.artifactMap(g1:a1:c1).groupId", "project.foo", "project.dependencies[10]", "project..foo",
+                "project.dependencies[a]", "project.dependencies(", "project", "version", "$project" };
+
+        for ( String expression : expressions )
+        {
+            ReflectionValueExtractor.CompiledExpression compiled = ReflectionValueExtractor.compile( expression );
+            Object expected = ReflectionValueExtractor.evaluate( expression, project );
+            assertEquals( expression, expected, compiled.evaluate( project ) );
+            assertEquals( expression, expected, compiled.evaluate( project ) );
+
+            compiled = ReflectionValueExtractor.compile( expression, false );
+            expected = ReflectionValueExtractor.evaluate( expression, project, false );
+            assertEquals( expression, expected, compiled.evaluate( project ) );
+        }
+    }
+
+    public void testCompiledExpressionWithChangingTypes()
+        throws Exception
+    {
+        ReflectionValueExtractor.CompiledExpression compiled = ReflectionValueExtractor.compile( "h.value[1]" );
+
+        List<Object> list = new ArrayList<Object>();
+        list.add( "a-value" );
+        list.add( "b-value" );
+
+        assertEquals( "b-value", compiled.evaluate( new ValueHolder( list ) ) );
+        assertEquals( "d-value", compiled.evaluate( new ValueHolder( new String[] { "c-value", "d-value" } ) ) );
+        assertEquals( "b-value", compiled.evaluate( new ValueHolder( new LinkedList<Object>( list ) ) ) );
+        assertNull( compiled.evaluate( new ValueHolder( list.subList( 0, 1 ) ) ) );
+
+        try
+        {
+            compiled.evaluate( new ValueHolder( "string" ) );
+            fail( "IntrospectionException expected" );
+        }
+        catch ( IntrospectionException e )
+        {
+            // expected
+        }
+    }
+
     public static class Artifact
     {
         private String groupId;
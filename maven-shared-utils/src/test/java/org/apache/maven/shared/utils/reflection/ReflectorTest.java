@@ -22,6 +22,7 @@ package org.apache.maven.shared.utils.reflection;
 import org.junit.Test;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
@@ -1229,4 +1230,33 @@ public class ReflectorTest
                     is( ReflectorTestHelper.class.getDeclaredMethod( "getInstance", String.class ) ) );
     }
 
+    @Test
+    public void getMethodCached()
+        throws Exception
+    {
+        Class<?>[] params = new Class[]{ String.class };
+        Method method = reflector.getMethod( ReflectorTestHelper.class, "getInstance", params );
+        params[0] = Boolean.class;
+        assertThat( reflector.getMethod( ReflectorTestHelper.class, "getInstance", new Class[]{ String.class } ),
+                    sameInstance( method ) );
+    }
+
+    @Test
+    public void getMethodMissingCached()
+        throws Exception
+    {
+        for ( int i = 0; i < 2; i++ )
+        {
+            try
+            {
+                reflector.getMethod( Object.class, "missing", new Class[0] );
+                fail( "ReflectorException expected" );
+            }
+            catch ( ReflectorException e )
+            {
+                // expected
+            }
+        }
+    }
+
 }
@@ -3,6 +3,7 @@ package org.apache.maven.shared.utils.xml;
 import java.io.IOException;
 import javax.swing.text.html.HTML;
 import java.io.StringWriter;
+import java.io.Writer;
 
 /*
  * Licensed to the Apache Software Foundation (ASF) under one
@@ -146,6 +147,80 @@ public class PrettyPrintXmlWriterTest
         Assert.assertEquals( "<div class=\"sect&#10;ion\"/>", w.toString() );
     }
 
+    @Test
+    public void testEscapeXmlText() throws IOException
+    {
+        writer.startElement( HTML.Tag.P.toString() );
+        writer.writeText( "a<b & \"c\" > 'd'" );
+        writer.endElement(); // Tag.P
+        Assert.assertEquals( "<p><![CDATA[a<b & \"c\" > 'd']]></p>", w.toString() );
+
+        Assert.assertEquals( "a&lt;b &amp; \"c\" &gt; 'd'", XMLEncode.xmlEncodeTextAsPCDATA( "a<b & \"c\" > 'd'" ) );
+        Assert.assertEquals( "\"&lt;&lt;x&quot;&apos;&#13;y&#10;\"",
+                             XMLEncode.xmlEncodeTextAsPCDATA( "<<x\"'\ry\r\n", true ) );
+        Assert.assertEquals( "plain", XMLEncode.xmlEncodeTextAsPCDATA( "plain" ) );
+    }
+
+    @Test
+    public void testBufferedPrettyPrintXMLWriter() throws IOException
+    {
+        writer.setBuffered( true );
+
+        writer.startElement( HTML.Tag.HTML.toString() );
+
+        writeXhtmlHead( writer );
+
+        // nothing is written before the document is complete or enough output is buffered
+        Assert.assertEquals( "", w.toString() );
+
+        writeXhtmlBody( writer );
+
+        writer.endElement(); // Tag.HTML
+
+        Assert.assertEquals( expectedResult( Os.LINE_SEP ), w.toString() );
+    }
+
+    @Test
+    public void testBufferedPrettyPrintXMLWriterFlush() throws IOException
+    {
+        writer.setBuffered( true );
+
+        writer.startElement( HTML.Tag.HTML.toString() );
+        writer.startElement( HTML.Tag.HEAD.toString() );
+        writer.endElement(); // Tag.HEAD
+        writer.flush();
+
+        Assert.assertEquals( "<html>" + Os.LINE_SEP + "  <head/>", w.toString() );
+    }
+
+    @Test( expected = IOException.class )
+    public void testBufferedPrettyPrintXMLWriterFailure() throws IOException
+    {
+        writer = new PrettyPrintXMLWriter( new Writer()
+        {
+            @Override
+            public void write( char[] cbuf, int off, int len ) throws IOException
+            {
+                throw new IOException( "write" );
+            }
+
+            @Override
+            public void flush()
+            {
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        } );
+        writer.setBuffered( true );
+
+        writer.startElement( HTML.Tag.DIV.toString() );
+        writer.writeText( "text" );
+        writer.endElement(); // Tag.DIV
+    }
+
     private void writeXhtmlHead( XMLWriter writer ) throws IOException
     {
         writer.startElement( HTML.Tag.HEAD.toString() );
@@ -27,6 +27,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -112,6 +113,66 @@ public class Xpp3DomBuilderTest
         assertEquals( getExpectedString(), w.toString() );
     }
 
+    @Test
+    public void parserIsReusedAfterMalformedXml()
+    {
+        try
+        {
+            Xpp3DomBuilder.build( new StringReader( "<newRoot>" + createDomString() ) );
+            fail( "We're supposed to fail" );
+        }
+        catch ( XmlPullParserException e )
+        {
+            // expected
+        }
+
+        Xpp3Dom dom = Xpp3DomBuilder.build( new StringReader( createDomString() ) );
+        assertEquals( "element1value", dom.getChild( "element1" ).getValue() );
+        dom = Xpp3DomBuilder.build( new StringReader( createDomString() ) );
+        assertEquals( "element1value", dom.getChild( "element1" ).getValue() );
+    }
+
+    @Test
+    public void buildSubtrees()
+    {
+        String xml = "<project><build><plugins>"
+            + "<plugin><artifactId>a</artifactId><configuration><x y='1'> v </x></configuration></plugin>"
+            + "<plugin><artifactId>b</artifactId><configuration><![CDATA[<c>]]></configuration></plugin>"
+            + "</plugins><configuration>ignored</configuration></build></project>";
+
+        List<Xpp3Dom> doms =
+            Xpp3DomBuilder.buildSubtrees( new StringReader( xml ), true, "project/build/plugins/plugin/configuration" );
+
+        assertEquals( 2, doms.size() );
+        assertEquals( "configuration", doms.get( 0 ).getName() );
+        assertEquals( "v", doms.get( 0 ).getChild( "x" ).getValue() );
+        assertEquals( "1", doms.get( 0 ).getChild( "x" ).getAttribute( "y" ) );
+        assertEquals( "<c>", doms.get( 1 ).getValue() );
+
+        doms = Xpp3DomBuilder.buildSubtrees( new StringReader( xml ), true, "project/*/*/plugin/artifactId" );
+        assertEquals( 2, doms.size() );
+        assertEquals( "b", doms.get( 1 ).getValue() );
+
+        assertEquals( 0, Xpp3DomBuilder.buildSubtrees( new StringReader( xml ), true, "build/plugins" ).size() );
+    }
+
+    @Test
+    public void buildSubtreesMatchesBuild()
+    {
+        String domString = createDomString();
+
+        List<Xpp3Dom> doms = Xpp3DomBuilder.buildSubtrees( new StringReader( domString ), false, "root" );
+
+        assertEquals( 1, doms.size() );
+        assertEquals( Xpp3DomBuilder.build( new StringReader( domString ), false ), doms.get( 0 ) );
+    }
+
+    @Test(expected = XmlPullParserException.class)
+    public void buildSubtreesMalformedXml()
+    {
+        Xpp3DomBuilder.buildSubtrees( new StringReader( "<newRoot>" + createDomString() ), true, "newRoot/root" );
+    }
+
     private static String getAttributeEncodedString()
     {
         StringBuilder domString = new StringBuilder();
@@ -21,8 +21,12 @@ package org.apache.maven.shared.utils.xml.pull;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.shared.utils.xml.Xpp3Dom;
 import org.apache.maven.shared.utils.xml.Xpp3DomBuilder;
+import org.apache.maven.shared.utils.xml.Xpp3DomUtils;
 
 import org.junit.Test;
 
@@ -270,4 +274,175 @@ public class Xpp3DomTest
         assertEquals( "y", build( dupes ).getChild( "baz" ).getValue() );
     }
 
+    @Test
+    public void childByNameWithManyChildren()
+    {
+        Xpp3Dom dom = new Xpp3Dom( "root" );
+        for ( int i = 0; i < 20; i++ )
+        {
+            dom.addChild( createElement( "kid" + ( i % 5 ), String.valueOf( i ) ) );
+        }
+
+        assertEquals( "19", dom.getChild( "kid4" ).getValue() );
+        assertNull( dom.getChild( "kid5" ) );
+
+        dom.addChild( createElement( "kid5", "20" ) );
+        assertEquals( "20", dom.getChild( "kid5" ).getValue() );
+
+        dom.removeChild( 19 );
+        assertEquals( "14", dom.getChild( "kid4" ).getValue() );
+        assertEquals( 20, dom.getChildCount() );
+    }
+
+    @Test
+    public void childByNameConcurrently()
+        throws Exception
+    {
+        for ( int run = 0; run < 50; run++ )
+        {
+            final Xpp3Dom dom = new Xpp3Dom( "root" );
+            for ( int i = 0; i < 100; i++ )
+            {
+                dom.addChild( createElement( "kid" + i, String.valueOf( i ) ) );
+            }
+
+            final CyclicBarrier start = new CyclicBarrier( 4 );
+            final AtomicInteger missing = new AtomicInteger();
+            Thread[] readers = new Thread[4];
+            for ( int t = 0; t < readers.length; t++ )
+            {
+                readers[t] = new Thread()
+                {
+                    @Override
+                    public void run()
+                    {
+                        try
+                        {
+                            start.await();
+                        }
+                        catch ( Exception e )
+                        {
+                            missing.incrementAndGet();
+                            return;
+                        }
+                        for ( int i = 99; i >= 0; i-- )
+                        {
+                            if ( dom.getChild( "kid" + i ) == null )
+                            {
+                                missing.incrementAndGet();
+                            }
+                        }
+                    }
+                };
+                readers[t].start();
+            }
+            for ( Thread reader : readers )
+            {
+                reader.join();
+            }
+
+            assertEquals( 0, missing.get() );
+        }
+    }
+
+    @Test
+    public void childrenView()
+    {
+        Xpp3Dom dom = new Xpp3Dom( "root" );
+        List<Xpp3Dom> children = dom.getChildrenAsList();
+        assertTrue( children.isEmpty() );
+        assertEquals( 0, dom.getChildren().length );
+        assertEquals( 0, dom.getChildren( "kid" ).length );
+        assertNull( dom.getChild( "kid" ) );
+
+        dom.addChild( new Xpp3Dom( "kid" ) );
+        children = dom.getChildrenAsList();
+        dom.addChild( new Xpp3Dom( "kid" ) );
+        assertEquals( 2, children.size() );
+        assertSame( dom.getChild( 1 ), children.get( 1 ) );
+
+        try
+        {
+            children.remove( 0 );
+            fail( "The children view is unmodifiable" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void leafEqualsEmptiedNode()
+    {
+        Xpp3Dom leaf = new Xpp3Dom( "single" );
+        Xpp3Dom emptied = new Xpp3Dom( "single" );
+        emptied.addChild( new Xpp3Dom( "kid" ) );
+        emptied.removeChild( 0 );
+
+        assertEquals( leaf, emptied );
+        assertEquals( leaf.hashCode(), emptied.hashCode() );
+        assertEquals( leaf, new Xpp3Dom( leaf ) );
+    }
+
+    @Test
+    public void mergeSharedEqualsMerge()
+    {
+        String[][] cases = {
+            { "<root><a>x</a><b><c/></b><d attr='1'/></root>",
+                "<root attr='r'><b><c>y</c><e/></b><d attr='2' other='3'/><f>z</f><a>ignored</a></root>" },
+            { "<root><entries combine.children='append'><entry>quatro</entry></entries></root>",
+                "<root><entries><entry>uno</entry><entry>dos</entry></entries></root>" },
+            { "<root><entries><entry/><entry>test</entry><entry/></entries></root>",
+                "<root><entries><entry>1</entry><entry>2</entry><entry>3</entry><entry>4</entry></entries></root>" },
+            { "<root combine.self='override'><a/></root>", "<root><b/></root>" } };
+
+        for ( String[] xml : cases )
+        {
+            Xpp3Dom dominant = build( xml[0] );
+            Xpp3Dom recessive = build( xml[1] );
+
+            Xpp3Dom result = Xpp3DomUtils.mergeShared( dominant, recessive );
+
+            assertEquals( build( xml[0] ), dominant );
+            assertEquals( build( xml[1] ), recessive );
+            assertEquals( mergeXpp3Dom( build( xml[0] ), build( xml[1] ) ), result );
+        }
+    }
+
+    @Test
+    public void mergeSharedSharesUnchangedSubtrees()
+    {
+        Xpp3Dom dominant = build( "<root><a><x>1</x></a><b>2</b></root>" );
+        Xpp3Dom recessive = build( "<root><b>3</b><c><y/></c></root>" );
+
+        Xpp3Dom result = Xpp3DomUtils.mergeShared( dominant, recessive );
+
+        assertNotSame( dominant, result );
+        assertSame( dominant.getChild( "a" ), result.getChild( "a" ) );
+        assertSame( dominant.getChild( "b" ), result.getChild( "b" ) );
+        assertSame( recessive.getChild( "c" ), result.getChild( "c" ) );
+        assertSame( dominant, result.getChild( "a" ).getParent() );
+        assertSame( recessive, result.getChild( "c" ).getParent() );
+
+        assertSame( dominant, Xpp3DomUtils.mergeShared( dominant, build( "<root><b>4</b></root>" ) ) );
+        assertSame( recessive, Xpp3DomUtils.mergeShared( null, recessive ) );
+    }
+
+    @Test
+    public void mergeSharedCreatesChangedNodes()
+    {
+        Xpp3Dom dominant = build( "<root><a><x>1</x></a><b/></root>" );
+        Xpp3Dom recessive = build( "<root><a><y>2</y></a></root>" );
+
+        Xpp3Dom result = Xpp3DomUtils.mergeShared( dominant, recessive );
+
+        Xpp3Dom a = result.getChild( "a" );
+        assertNotSame( dominant.getChild( "a" ), a );
+        assertSame( result, a.getParent() );
+        assertSame( dominant.getChild( "a" ).getChild( "x" ), a.getChild( "x" ) );
+        assertSame( recessive.getChild( "a" ).getChild( "y" ), a.getChild( "y" ) );
+        assertEquals( 1, dominant.getChild( "a" ).getChildCount() );
+    }
+
 }